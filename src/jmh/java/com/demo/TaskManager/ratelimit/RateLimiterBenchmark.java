@@ -0,0 +1,83 @@
+package com.demo.TaskManager.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bucket check of every API request, under contention:
+ * <ul>
+ *     <li>{@code sameUser}: every thread hits the bucket of one user, the worst case for the CAS loop</li>
+ *     <li>{@code manyUsers}: threads spread over 10,000 users, as behind a busy load balancer</li>
+ * </ul>
+ * Buckets are large enough never to run dry, so that the allowed path is measured.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=RateLimiterBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+
+        RateLimiter limiter;
+        String[] keys;
+
+        @Setup
+        public void setUp() {
+            // A burst of 2^31 requests, refilled at one per second: never empty during a run
+            limiter = new RateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(Integer.MAX_VALUE), USERS * 2L);
+            keys = new String[USERS];
+            for (int i = 0; i < USERS; i++) {
+                keys[i] = "user:" + i;
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RateLimiter.Decision singleThread(Limiter state) {
+        return state.limiter.tryConsume(state.keys[0]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RateLimiter.Decision sameUser8Threads(Limiter state) {
+        return state.limiter.tryConsume(state.keys[0]);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public RateLimiter.Decision sameUser32Threads(Limiter state) {
+        return state.limiter.tryConsume(state.keys[0]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RateLimiter.Decision manyUsers8Threads(Limiter state) {
+        return state.limiter.tryConsume(state.keys[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public RateLimiter.Decision manyUsers32Threads(Limiter state) {
+        return state.limiter.tryConsume(state.keys[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+}
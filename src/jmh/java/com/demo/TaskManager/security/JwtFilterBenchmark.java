@@ -0,0 +1,123 @@
+package com.demo.TaskManager.security;
+
+import com.demo.TaskManager.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates one request carrying a valid token:
+ * <ul>
+ *     <li>{@code before}: the former filter, which decoded the token three times
+ *     (validateToken, getUserFromToken, getUserIdFromToken) and built a User, a SecurityUser and request details</li>
+ *     <li>{@code singleDecode}: JwtAuthenticationFilter with the verified-token cache disabled, one decode per request</li>
+ *     <li>{@code cached}: JwtAuthenticationFilter as deployed, the token being verified once then served from the cache</li>
+ * </ul>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=JwtFilterBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtDecoder decoder;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = new SecretKeySpec("a-benchmark-secret-that-is-long-enough-for-hs256"
+                .getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        decoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        JwtService cachingService = new JwtService(encoder, decoder, 10_000);
+        uncachedFilter = new JwtAuthenticationFilter(new JwtService(encoder, decoder, 0), objectMapper);
+        cachedFilter = new JwtAuthenticationFilter(cachingService, objectMapper);
+
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("jane@example.com");
+        SecurityUser securityUser = new SecurityUser(user);
+        token = cachingService.generateToken(UsernamePasswordAuthenticationToken.authenticated(
+                securityUser, null, securityUser.getAuthorities()));
+
+        request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void before(Blackhole blackhole) {
+        // Former doFilterInternal, minus the error path
+        String authHeader = request.getHeader("Authorization");
+        String bearer = authHeader.substring(7);
+        decoder.decode(bearer);
+        String email = decoder.decode(bearer).getSubject();
+        Jwt jwt = decoder.decode(bearer);
+        Long userId = jwt.getClaim("userId");
+        User userEntity = new User();
+        userEntity.setId(userId);
+        userEntity.setEmail(email);
+        SecurityUser userDetails = new SecurityUser(userEntity);
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Benchmark
+    public void singleDecode(Blackhole blackhole) throws Exception {
+        uncachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) throws Exception {
+        cachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,128 @@
+package com.demo.TaskManager.security;
+
+import com.demo.TaskManager.common.ErrorResponse;
+import com.demo.TaskManager.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes allocated per request by the JWT filter, to be read from the gc.alloc.rate.norm column of
+ * {@code ./gradlew jmh -PjmhIncludes=PrincipalAllocationBenchmark} (the gc profiler is on by default).
+ * The token is served from the verified-token cache in every case, so only the principal differs:
+ * <ul>
+ *     <li>{@code entityPrincipalBefore}: a User entity wrapped in a SecurityUser, with request details</li>
+ *     <li>{@code jwtPrincipalAfter}: JwtAuthenticationFilter, authenticating the cached JwtPrincipal itself</li>
+ *     <li>{@code errorBefore} / {@code errorAfter}: writing the 403 body with a new ObjectMapper or the shared one</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrincipalAllocationBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private ObjectMapper sharedMapper;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = new SecretKeySpec("a-benchmark-secret-that-is-long-enough-for-hs256"
+                .getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        jwtService = new JwtService(new NimbusJwtEncoder(new ImmutableSecret<>(key)),
+                NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build(), 10_000);
+        sharedMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new JwtAuthenticationFilter(jwtService, sharedMapper);
+
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("jane@example.com");
+        SecurityUser securityUser = new SecurityUser(user);
+        token = jwtService.generateToken(UsernamePasswordAuthenticationToken.authenticated(
+                securityUser, null, securityUser.getAuthorities()));
+        // Verified once, so that every benchmark hits the cache
+        jwtService.verify(token);
+
+        request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void reset() {
+        SecurityContextHolder.clearContext();
+        // Writing the error body closes, hence commits, the response
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void entityPrincipalBefore(Blackhole blackhole) {
+        JwtPrincipal principal = jwtService.verify(token);
+        User userEntity = new User();
+        userEntity.setId(principal.userId());
+        userEntity.setEmail(principal.email());
+        SecurityUser userDetails = new SecurityUser(userEntity);
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Benchmark
+    public void jwtPrincipalAfter(Blackhole blackhole) throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Benchmark
+    public void errorBefore() throws Exception {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.FORBIDDEN, "Malformed or invalid JWT");
+        // A mapper per error, as before; with the java.time module, which it lacked, to serialize the timestamp
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        response.getWriter().write(mapper.writeValueAsString(errorResponse));
+    }
+
+    @Benchmark
+    public void errorAfter() throws Exception {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.FORBIDDEN, "Malformed or invalid JWT");
+        sharedMapper.writeValue(response.getWriter(), errorResponse);
+    }
+}
@@ -0,0 +1,139 @@
+package com.demo.TaskManager.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decides whether a request may start, before it gets to wait for a connection.
+ * A request is turned away when its class has used up its share of the adaptive
+ * concurrency limit, or when more threads than its share of
+ * {@code pool size * max-pending-per-connection} are already blocked on the Hikari pool.
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    public enum Rejection {
+        /** The adaptive concurrency limit is reached */
+        LIMIT,
+        /** Too many threads are already waiting for a connection */
+        POOL
+    }
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ConnectionPoolPressure pool;
+    private final double maxPendingPerConnection;
+    private final Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Map<Rejection, Counter>> rejections = new EnumMap<>(RequestPriority.class);
+
+    public AdmissionControl(ConnectionPoolPressure pool,
+                            MeterRegistry meterRegistry,
+                            @Value("${tasks.admission.initial-limit:20}") int initialLimit,
+                            @Value("${tasks.admission.min-limit:2}") int minLimit,
+                            @Value("${tasks.admission.max-limit:200}") int maxLimit,
+                            @Value("${tasks.admission.latency-threshold:PT1S}") Duration latencyThreshold,
+                            @Value("${tasks.admission.backoff-ratio:0.9}") double backoffRatio,
+                            @Value("${tasks.admission.max-pending-per-connection:2}") double maxPendingPerConnection,
+                            @Value("${tasks.admission.shares.write:0.8}") double writeShare,
+                            @Value("${tasks.admission.shares.bulk:0.5}") double bulkShare) {
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+        this.pool = pool;
+        this.maxPendingPerConnection = maxPendingPerConnection;
+        shares.put(RequestPriority.READ, 1.0);
+        shares.put(RequestPriority.WRITE, writeShare);
+        shares.put(RequestPriority.BULK, bulkShare);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            Map<Rejection, Counter> counters = new EnumMap<>(Rejection.class);
+            for (Rejection rejection : Rejection.values()) {
+                counters.put(rejection, Counter.builder("tasks.admission.rejected")
+                        .description("Requests turned away with 503 by admission control")
+                        .tag("priority", priority.name().toLowerCase())
+                        .tag("reason", rejection.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            rejections.put(priority, counters);
+        }
+        Gauge.builder("tasks.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("tasks.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests admitted and not yet completed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return null if the request is admitted, in which case {@link #complete} must be called,
+     *         or why it is rejected
+     */
+    public Rejection tryAdmit(RequestPriority priority) {
+        double share = shares.get(priority);
+        if (pool.threadsAwaitingConnection() > maxPending(share)) {
+            return reject(priority, Rejection.POOL);
+        }
+        if (!limit.tryAcquire(share)) {
+            return reject(priority, Rejection.LIMIT);
+        }
+        return null;
+    }
+
+    /**
+     * @param priority the class the request was admitted in
+     * @param latencyNanos how long the admitted request took
+     * @param failed whether it ended with a server error
+     */
+    public void complete(RequestPriority priority, long latencyNanos, boolean failed) {
+        // Bulk requests are expected to be slow, only their failures say something about the database
+        limit.release(priority == RequestPriority.BULK ? 0 : latencyNanos, failed);
+    }
+
+    /**
+     * @return whether reads themselves are being shed because of the pool
+     */
+    public boolean isSaturated() {
+        return pool.threadsAwaitingConnection() > maxPending(1.0);
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return limit.getInFlight();
+    }
+
+    public ConnectionPoolPressure getPool() {
+        return pool;
+    }
+
+    /**
+     * @return the number of rejections since startup, by priority and reason
+     */
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        rejections.forEach((priority, counters) -> counters.forEach((rejection, counter) ->
+                counts.put(priority.name().toLowerCase() + "." + rejection.name().toLowerCase(),
+                        (long) counter.count())));
+        return counts;
+    }
+
+    private double maxPending(double share) {
+        return pool.maximumPoolSize() * maxPendingPerConnection * share;
+    }
+
+    private Rejection reject(RequestPriority priority, Rejection rejection) {
+        rejections.get(priority).get(rejection).increment();
+        log.debug("[ADMISSION] Rejecting {} request ({}): limit {}, in flight {}, waiting for a connection {}",
+            priority, rejection, limit.getLimit(), limit.getInFlight(), pool.threadsAwaitingConnection());
+        return rejection;
+    }
+}
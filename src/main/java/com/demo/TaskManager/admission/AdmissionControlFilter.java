@@ -0,0 +1,127 @@
+package com.demo.TaskManager.admission;
+
+import com.demo.TaskManager.common.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fails fast with 503 and Retry-After instead of letting requests queue on the connection pool.
+ * Runs before authentication, which is cheap enough but would be wasted on a rejected request.
+ * Streamed responses keep their slot until the async dispatch completes.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl,
+                                  ObjectMapper objectMapper,
+                                  @Value("${tasks.admission.enabled:true}") boolean enabled,
+                                  @Value("${tasks.admission.retry-after:PT1S}") Duration retryAfter) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+        AdmissionControl.Rejection rejection = admissionControl.tryAdmit(priority);
+        if (rejection != null) {
+            writeRejection(response, rejection);
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean completed = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(priority, start, completed));
+            } else {
+                complete(priority, start, completed, response.getStatus());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Probes must keep answering, especially while the instance sheds load
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    private void complete(RequestPriority priority, long start, AtomicBoolean completed, int status) {
+        if (completed.compareAndSet(false, true)) {
+            admissionControl.complete(priority, System.nanoTime() - start, status >= 500);
+        }
+    }
+
+    private void writeRejection(HttpServletResponse response, AdmissionControl.Rejection rejection) throws IOException {
+        String message = rejection == AdmissionControl.Rejection.POOL
+                ? "Server is saturated, please retry later"
+                : "Too many concurrent requests, please retry later";
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, message);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), errorResponse);
+    }
+
+    private class CompletionListener implements AsyncListener {
+
+        private final RequestPriority priority;
+        private final long start;
+        private final AtomicBoolean completed;
+
+        CompletionListener(RequestPriority priority, long start, AtomicBoolean completed) {
+            this.priority = priority;
+            this.start = start;
+            this.completed = completed;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(priority, start, completed, ((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete(priority, start, completed, HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete(priority, start, completed, HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when the request goes async again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
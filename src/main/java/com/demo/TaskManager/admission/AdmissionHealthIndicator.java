@@ -0,0 +1,31 @@
+package com.demo.TaskManager.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: reports OUT_OF_SERVICE while even reads are shed because
+ * of the pool, so that the load balancer sends traffic to other instances meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionHealthIndicator implements HealthIndicator {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public Health health() {
+        ConnectionPoolPressure pool = admissionControl.getPool();
+        Health.Builder builder = admissionControl.isSaturated() ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("limit", admissionControl.getLimit())
+                .withDetail("inFlight", admissionControl.getInFlight())
+                .withDetail("activeConnections", pool.activeConnections())
+                .withDetail("maximumPoolSize", pool.maximumPoolSize())
+                .withDetail("threadsAwaitingConnection", pool.threadsAwaitingConnection())
+                .withDetail("rejected", admissionControl.getRejectionCounts())
+                .build();
+    }
+}
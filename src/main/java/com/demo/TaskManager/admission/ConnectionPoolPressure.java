@@ -0,0 +1,75 @@
+package com.demo.TaskManager.admission;
+
+import com.demo.TaskManager.datasource.GatedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Live view of the Hikari pool, and of the {@link GatedDataSource} in front of it when the gate
+ * is enabled: gated callers queue on its semaphore and never reach the pool. Before the pool is
+ * started, or when the data source is not a Hikari pool, the pool readings are 0 and admission
+ * only relies on the adaptive limit and the gate queue.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolPressure {
+
+    private final HikariDataSource hikari;
+    private final GatedDataSource gate;
+
+    public ConnectionPoolPressure(DataSource dataSource) {
+        this.hikari = unwrap(dataSource);
+        this.gate = unwrapGate(dataSource);
+    }
+
+    /**
+     * @return the number of threads blocked waiting for a connection, on the gate or in the pool
+     */
+    public int threadsAwaitingConnection() {
+        HikariPoolMXBean pool = pool();
+        int inPool = pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        int atGate = gate != null ? gate.getQueueLength() : 0;
+        return inPool + atGate;
+    }
+
+    public int activeConnections() {
+        HikariPoolMXBean pool = pool();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    public int maximumPoolSize() {
+        return hikari != null ? hikari.getMaximumPoolSize() : 0;
+    }
+
+    private HikariPoolMXBean pool() {
+        return hikari != null ? hikari.getHikariPoolMXBean() : null;
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException ex) {
+            log.warn("[ADMISSION] Cannot unwrap the data source: {}", ex.getMessage());
+        }
+        log.warn("[ADMISSION] Data source is not a Hikari pool, pool pressure is not monitored");
+        return null;
+    }
+
+    private static GatedDataSource unwrapGate(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(GatedDataSource.class)) {
+                return dataSource.unwrap(GatedDataSource.class);
+            }
+        } catch (SQLException ex) {
+            log.warn("[ADMISSION] Cannot unwrap the data source gate: {}", ex.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.demo.TaskManager.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Admission classes, from the first to be served to the first to be shed.
+ * Each class may use its share of the concurrency limit, so that when the limit shrinks
+ * bulk traffic is turned away before writes, and writes before reads.
+ */
+public enum RequestPriority {
+    READ,
+    WRITE,
+    BULK;
+
+    public static RequestPriority of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.endsWith("/bulk") || path.endsWith("/batch") || path.endsWith("/import")
+                || path.endsWith("/export")) {
+            return BULK;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
@@ -0,0 +1,173 @@
+package com.demo.TaskManager.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Listens for invalidations sent by the other nodes and applies them to the local caches.
+ * Uses a dedicated connection outside the pool, held by a single daemon thread.
+ * Notifications sent while that connection is down are lost, so every (re)connection
+ * starts by clearing the local caches.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tasks.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long INITIAL_RECONNECT_DELAY_MILLIS = 1000;
+
+    private final ClusterCacheManager cacheManager;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final Duration pollInterval;
+    private final Duration maxReconnectDelay;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private boolean listening;
+    private Thread thread;
+
+    public CacheInvalidationListener(ClusterCacheManager cacheManager,
+                                     DataSourceProperties dataSourceProperties,
+                                     @Value("${tasks.cache.invalidation.channel:task_manager_cache}") String channel,
+                                     @Value("${tasks.cache.invalidation.poll-interval:PT10S}") Duration pollInterval,
+                                     @Value("${tasks.cache.invalidation.max-reconnect-delay:PT30S}") Duration maxReconnectDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.cacheManager = cacheManager;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollInterval = pollInterval;
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeConnection();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long delayMillis = INITIAL_RECONNECT_DELAY_MILLIS;
+        while (running) {
+            try {
+                listen();
+            } catch (SQLException ex) {
+                if (listening) {
+                    delayMillis = INITIAL_RECONNECT_DELAY_MILLIS;
+                }
+                if (running) {
+                    log.warn("[CACHE] Invalidation listener disconnected, reconnecting in {} ms: {}",
+                            delayMillis, ex.getMessage());
+                }
+            } finally {
+                listening = false;
+                closeConnection();
+            }
+            if (!running) {
+                break;
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            delayMillis = Math.min(delayMillis * 2, maxReconnectDelay.toMillis());
+        }
+        log.info("[CACHE] Invalidation listener stopped");
+    }
+
+    private void listen() throws SQLException {
+        connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+        // Whatever was published before LISTEN took effect may be missing from the local caches
+        cacheManager.clearAllLocally();
+        listening = true;
+        log.info("[CACHE] Listening for invalidations on channel '{}' (node: {})",
+                channel, CacheInvalidationPublisher.NODE_ID);
+
+        int pollMillis = (int) pollInterval.toMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                // A silently dropped connection would otherwise just look idle
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                apply(notification.getParameter());
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        CacheInvalidationMessage message = CacheInvalidationMessage.decode(payload);
+        if (message == null) {
+            log.warn("[CACHE] Ignoring malformed invalidation: {}", payload);
+            return;
+        }
+        if (CacheInvalidationPublisher.NODE_ID.equals(message.nodeId())) {
+            return;
+        }
+        log.debug("[CACHE] Applying {} invalidations from node {}", message.invalidations().size(), message.nodeId());
+        for (CacheInvalidationMessage.Invalidation invalidation : message.invalidations()) {
+            if (invalidation.isClear()) {
+                cacheManager.clearLocally(invalidation.cacheName());
+            } else {
+                cacheManager.evictLocally(invalidation.cacheName(), invalidation.key());
+            }
+        }
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ex) {
+                log.debug("[CACHE] Error while closing listener connection: {}", ex.getMessage());
+            }
+        }
+    }
+}
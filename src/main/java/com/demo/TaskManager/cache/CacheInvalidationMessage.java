@@ -0,0 +1,88 @@
+package com.demo.TaskManager.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Payload of an invalidation notification: the node that sent it and the evictions of one transaction.
+ * Encoded as the node id followed by one {@code cache|key} line per eviction, or a bare {@code cache}
+ * line to clear the whole cache. NOTIFY payloads must stay below 8000 bytes, so a message that would
+ * not fit is sent as clears of the caches it touches instead.
+ */
+record CacheInvalidationMessage(String nodeId, List<Invalidation> invalidations) {
+
+    /** Room left under the 8000 byte limit of NOTIFY payloads */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final char SEPARATOR = '|';
+    private static final char LINE_SEPARATOR = '\n';
+
+    /**
+     * One eviction, or a clear of the whole cache when the key is null
+     */
+    record Invalidation(String cacheName, String key) {
+
+        static Invalidation evict(String cacheName, Object key) {
+            return new Invalidation(cacheName, key.toString());
+        }
+
+        static Invalidation clear(String cacheName) {
+            return new Invalidation(cacheName, null);
+        }
+
+        boolean isClear() {
+            return key == null;
+        }
+    }
+
+    static CacheInvalidationMessage of(String nodeId, Collection<Invalidation> invalidations) {
+        return new CacheInvalidationMessage(nodeId, List.copyOf(invalidations));
+    }
+
+    String encode() {
+        String payload = encode(invalidations);
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return payload;
+        }
+        Set<Invalidation> clears = new LinkedHashSet<>();
+        invalidations.forEach(invalidation -> clears.add(Invalidation.clear(invalidation.cacheName())));
+        return encode(clears);
+    }
+
+    private String encode(Collection<Invalidation> entries) {
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (Invalidation invalidation : entries) {
+            payload.append(LINE_SEPARATOR).append(invalidation.cacheName());
+            if (!invalidation.isClear()) {
+                payload.append(SEPARATOR).append(invalidation.key());
+            }
+        }
+        return payload.toString();
+    }
+
+    /**
+     * @return the message, or null if the payload was not produced by {@link #encode()}
+     */
+    static CacheInvalidationMessage decode(String payload) {
+        String[] lines = payload.split(String.valueOf(LINE_SEPARATOR));
+        if (lines.length < 2 || lines[0].isEmpty()) {
+            return null;
+        }
+        List<Invalidation> invalidations = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            int separator = line.indexOf(SEPARATOR);
+            if (separator == 0 || line.isEmpty()) {
+                return null;
+            }
+            invalidations.add(separator < 0
+                    ? Invalidation.clear(line)
+                    : new Invalidation(line.substring(0, separator), line.substring(separator + 1)));
+        }
+        return new CacheInvalidationMessage(lines[0], invalidations);
+    }
+}
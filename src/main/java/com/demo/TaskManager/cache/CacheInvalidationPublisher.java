@@ -0,0 +1,110 @@
+package com.demo.TaskManager.cache;
+
+import com.demo.TaskManager.cache.CacheInvalidationMessage.Invalidation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sends cache invalidations to the other nodes with {@code pg_notify}.
+ * Inside a transaction, the evictions are collected and sent as a single notification
+ * just before commit, on the connection of that transaction: PostgreSQL delivers it
+ * only when the transaction commits, and drops it on rollback.
+ * Outside a transaction, each invalidation is sent right away.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher {
+
+    /** Identifies this node, so that it can ignore its own notifications */
+    static final String NODE_ID = UUID.randomUUID().toString().substring(0, 8);
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate,
+                                      @Value("${tasks.cache.invalidation.enabled:true}") boolean enabled,
+                                      @Value("${tasks.cache.invalidation.channel:task_manager_cache}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(Invalidation.evict(cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(Invalidation.clear(cacheName));
+    }
+
+    private void publish(Invalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            pendingInvalidations().add(invalidation);
+        } else {
+            send(List.of(invalidation));
+        }
+    }
+
+    /**
+     * @return the invalidations collected for the current transaction, registered on first use
+     */
+    private PendingInvalidations pendingInvalidations() {
+        // Looked up among the synchronizations rather than bound as a resource, so that a suspended
+        // outer transaction keeps its own invalidations apart from those of an inner one
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending && pending.publisher() == this) {
+                return pending;
+            }
+        }
+        PendingInvalidations pending = new PendingInvalidations();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void send(Collection<Invalidation> invalidations) {
+        String payload = CacheInvalidationMessage.of(NODE_ID, invalidations).encode();
+        log.debug("[CACHE] Publishing {} invalidations: {}", invalidations.size(), payload);
+        jdbcTemplate.query(NOTIFY_SQL, (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    /**
+     * The invalidations of one transaction, sent together before it commits
+     */
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<Invalidation> invalidations = new LinkedHashSet<>();
+
+        CacheInvalidationPublisher publisher() {
+            return CacheInvalidationPublisher.this;
+        }
+
+        void add(Invalidation invalidation) {
+            invalidations.add(invalidation);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!invalidations.isEmpty()) {
+                send(invalidations);
+            }
+        }
+    }
+}
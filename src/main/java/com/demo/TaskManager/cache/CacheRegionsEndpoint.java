@@ -0,0 +1,60 @@
+package com.demo.TaskManager.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-region statistics of the Hibernate second-level cache, at /actuator/cacheregions.
+ * Counts are only collected when hibernate.generate_statistics is enabled.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private final Statistics statistics;
+
+    public CacheRegionsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record RegionStatistics(long hitCount, long missCount, long putCount, double hitRatio,
+                                   long elementCountInMemory, long sizeInMemory) {
+
+        static RegionStatistics of(CacheRegionStatistics region) {
+            long lookups = region.getHitCount() + region.getMissCount();
+            return new RegionStatistics(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                    lookups > 0 ? (double) region.getHitCount() / lookups : 0,
+                    region.getElementCountInMemory(), region.getSizeInMemory());
+        }
+    }
+
+    public record CacheRegionsReport(boolean statisticsEnabled, Map<String, RegionStatistics> regions) {
+    }
+
+    @ReadOperation
+    public CacheRegionsReport regions() {
+        Map<String, RegionStatistics> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, RegionStatistics.of(region));
+            }
+        }
+        return new CacheRegionsReport(statistics.isStatisticsEnabled(), regions);
+    }
+
+    @ReadOperation
+    public RegionStatistics region(@Selector String name) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+        return region != null ? RegionStatistics.of(region) : null;
+    }
+}
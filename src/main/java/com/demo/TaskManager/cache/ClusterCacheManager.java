@@ -0,0 +1,92 @@
+package com.demo.TaskManager.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exposes the local caches wrapped so that evictions are published to the other nodes
+ * right away and applied locally once the current transaction, if any, has committed.
+ * Invalidations received from other nodes go straight to the local caches, and are not published again.
+ * In both cases the {@link LocalEvictionListener}s are told about the eviction.
+ * Entity regions have no local Spring cache: their invalidations only reach the listeners.
+ */
+public class ClusterCacheManager implements CacheManager {
+
+    private final CacheManager localCaches;
+    private final CacheInvalidationPublisher publisher;
+    private final List<LocalEvictionListener> evictionListeners;
+    private final List<String> entityRegions;
+    private final Map<String, Cache> notifyingCaches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param entityRegions names of the Hibernate second-level cache regions invalidated across nodes
+     */
+    public ClusterCacheManager(CacheManager localCaches, CacheInvalidationPublisher publisher,
+                               List<LocalEvictionListener> evictionListeners, List<String> entityRegions) {
+        this.localCaches = localCaches;
+        this.publisher = publisher;
+        this.evictionListeners = List.copyOf(evictionListeners);
+        this.entityRegions = List.copyOf(entityRegions);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, key -> {
+            Cache local = localCache(key);
+            return local != null
+                    ? new ClusterInvalidatingCache(new TransactionAwareCacheDecorator(local), publisher)
+                    : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCaches.getCacheNames();
+    }
+
+    /**
+     * Applies an eviction received from another node
+     */
+    public void evictLocally(String cacheName, String key) {
+        Cache cache = localCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        } else {
+            evictionListeners.forEach(listener -> listener.evicted(cacheName, key));
+        }
+    }
+
+    /**
+     * Applies a clear received from another node
+     */
+    public void clearLocally(String cacheName) {
+        Cache cache = localCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            evictionListeners.forEach(listener -> listener.evicted(cacheName, null));
+        }
+    }
+
+    /**
+     * Drops every local entry, when invalidations may have been missed
+     */
+    public void clearAllLocally() {
+        getCacheNames().forEach(this::clearLocally);
+        entityRegions.forEach(this::clearLocally);
+    }
+
+    private Cache localCache(String name) {
+        return notifyingCaches.computeIfAbsent(name, key -> {
+            Cache local = localCaches.getCache(key);
+            return local != null ? new NotifyingCache(local, evictionListeners) : null;
+        });
+    }
+}
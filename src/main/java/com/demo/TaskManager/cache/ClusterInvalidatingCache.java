@@ -0,0 +1,41 @@
+package com.demo.TaskManager.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Publishes every eviction of the delegate cache to the other nodes.
+ * Publishing happens in the caller's transaction, so the other nodes only hear of it on commit.
+ */
+class ClusterInvalidatingCache extends DelegatingCache {
+
+    private final CacheInvalidationPublisher publisher;
+
+    ClusterInvalidatingCache(Cache delegate, CacheInvalidationPublisher publisher) {
+        super(delegate);
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void evict(Object key) {
+        publisher.publishEvict(getName(), key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        publisher.publishEvict(getName(), key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        publisher.publishClear(getName());
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        publisher.publishClear(getName());
+        return super.invalidate();
+    }
+}
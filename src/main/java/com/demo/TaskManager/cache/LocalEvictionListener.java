@@ -0,0 +1,15 @@
+package com.demo.TaskManager.cache;
+
+/**
+ * Notified whenever entries leave a local cache because of a write, on this node after commit
+ * or on another node when the invalidation is received. Lets caches outside Spring Cache,
+ * such as the Hibernate second-level cache, follow the same invalidations.
+ */
+public interface LocalEvictionListener {
+
+    /**
+     * @param cacheName the cache the entry was evicted from
+     * @param key the evicted key, or null when the whole cache was cleared
+     */
+    void evicted(String cacheName, String key);
+}
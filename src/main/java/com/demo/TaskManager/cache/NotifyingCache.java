@@ -0,0 +1,48 @@
+package com.demo.TaskManager.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.List;
+
+/**
+ * Tells the {@link LocalEvictionListener}s about the evictions applied to the local cache
+ */
+class NotifyingCache extends DelegatingCache {
+
+    private final List<LocalEvictionListener> listeners;
+
+    NotifyingCache(Cache delegate, List<LocalEvictionListener> listeners) {
+        super(delegate);
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        notifyListeners(key.toString());
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = super.evictIfPresent(key);
+        notifyListeners(key.toString());
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        notifyListeners(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = super.invalidate();
+        notifyListeners(null);
+        return invalidated;
+    }
+
+    private void notifyListeners(String key) {
+        listeners.forEach(listener -> listener.evicted(getName(), key));
+    }
+}
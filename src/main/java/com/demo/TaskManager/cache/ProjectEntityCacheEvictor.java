@@ -0,0 +1,36 @@
+package com.demo.TaskManager.cache;
+
+import com.demo.TaskManager.config.CacheConfig;
+import com.demo.TaskManager.entities.Project;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts {@link Project} from the Hibernate second-level cache whenever its read model is evicted.
+ * The task counters are updated with SQL that Hibernate does not see, and every such write
+ * already evicts the read model of the project, on every node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectEntityCacheEvictor implements LocalEvictionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void evicted(String cacheName, String key) {
+        if (!CacheConfig.PROJECTS.equals(cacheName)) {
+            return;
+        }
+        if (key == null) {
+            entityManagerFactory.getCache().evict(Project.class);
+            return;
+        }
+        // Keys are userId:projectId, see CacheConfig.PROJECT_KEY
+        Long projectId = Long.valueOf(key.substring(key.indexOf(':') + 1));
+        entityManagerFactory.getCache().evict(Project.class, projectId);
+        log.trace("[CACHE] Project {} evicted from the second-level cache", projectId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.TaskManager.cache;
+
+import com.demo.TaskManager.config.CacheConfig;
+import com.demo.TaskManager.entities.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts {@link User} from the Hibernate second-level cache when another node changed it.
+ * The writing node is kept up to date by Hibernate itself, the others hear of the change
+ * through an invalidation of {@link CacheConfig#USERS}. The email is immutable,
+ * so the natural id region never needs to follow.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEntityCacheEvictor implements LocalEvictionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void evicted(String cacheName, String key) {
+        if (!CacheConfig.USERS.equals(cacheName)) {
+            return;
+        }
+        if (key == null) {
+            entityManagerFactory.getCache().evict(User.class);
+            return;
+        }
+        entityManagerFactory.getCache().evict(User.class, Long.valueOf(key));
+        log.trace("[CACHE] User {} evicted from the second-level cache", key);
+    }
+}
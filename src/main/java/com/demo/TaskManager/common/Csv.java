@@ -0,0 +1,159 @@
+package com.demo.TaskManager.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers shared by the CSV export and import of tasks
+ */
+public final class Csv {
+
+    private Csv() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * Quotes a field if it contains a separator, a quote or a line break
+     * @param value the raw value, may be null
+     * @return the value as it must be written in a CSV record
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    /**
+     * Reads CSV records one at a time, with quoted fields possibly spanning several lines.
+     * Only the current record is held in memory, and its length is bounded.
+     */
+    public static final class Reader {
+
+        private static final int EOF = -1;
+
+        private final java.io.Reader in;
+        private final int maxRecordLength;
+        private int pushedBack = EOF;
+        private boolean hasPushedBack;
+        private long line = 1;
+        private long recordLine;
+
+        /**
+         * @param in the source, ideally buffered
+         * @param maxRecordLength the maximum number of characters of a record
+         */
+        public Reader(java.io.Reader in, int maxRecordLength) {
+            this.in = in;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        /**
+         * @return the fields of the next non blank record, or null at the end of the input
+         * @throws MalformedRecordException if a record is too long or a quoted field is not closed;
+         * the reader cannot resynchronize after that
+         */
+        public List<String> next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+            return fields;
+        }
+
+        /**
+         * @return the line on which the last record returned by {@link #next()} starts
+         */
+        public long recordLine() {
+            return recordLine;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == EOF) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int length = 0;
+            boolean quoted = false;
+            boolean fieldStart = true;
+            while (true) {
+                if (++length > maxRecordLength) {
+                    throw new MalformedRecordException(
+                            "Record starting at line " + recordLine + " exceeds " + maxRecordLength + " characters");
+                }
+                if (quoted) {
+                    if (c == EOF) {
+                        throw new MalformedRecordException("Unterminated quoted field starting at line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(next);
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && fieldStart) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    fieldStart = true;
+                    c = read();
+                    continue;
+                } else if (c == '\n' || c == EOF) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                fieldStart = false;
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            int c;
+            if (hasPushedBack) {
+                hasPushedBack = false;
+                c = pushedBack;
+            } else {
+                c = in.read();
+            }
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+
+        private void unread(int c) {
+            if (c == '\n') {
+                line--;
+            }
+            pushedBack = c;
+            hasPushedBack = true;
+        }
+    }
+
+    /**
+     * Raised when the input is not valid CSV; the rest of the input cannot be read reliably
+     */
+    public static class MalformedRecordException extends IOException {
+
+        public MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.TaskManager.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Weak entity tags built from the few values that identify a representation,
+ * such as an id, an update timestamp and counters, so that no body has to be serialized to compute them
+ */
+public final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * @param parts the values identifying the representation; timestamps are compared at the
+     *              microsecond precision PostgreSQL stores them with
+     * @return a weak entity tag, e.g. {@code W/"3f1c..."}
+     */
+    public static String weak(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            Object value = part instanceof LocalDateTime dateTime ? dateTime.truncatedTo(ChronoUnit.MICROS) : part;
+            key.append(value).append('|');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return WEAK_PREFIX + '"' + HexFormat.of().formatHex(digest, 0, 12) + '"';
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * Evaluates an If-Match header against the current tag. Tags are compared weakly,
+     * since the only tags handed out are weak ones.
+     * @param ifMatch the header value, a list of tags or {@code *}; null when absent
+     * @return true if the header is absent or one of its tags designates the current representation
+     */
+    public static boolean matches(String ifMatch, String currentETag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        String current = opaqueTag(currentETag);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -2,14 +2,19 @@ package com.demo.TaskManager.common;
 
 import com.demo.TaskManager.common.exceptions.BadRequestException;
 import com.demo.TaskManager.common.exceptions.EmailAlreadyExistsException;
+import com.demo.TaskManager.common.exceptions.PreconditionFailedException;
 import com.demo.TaskManager.common.exceptions.ProjectNotFoundException;
 import com.demo.TaskManager.common.exceptions.ResourceNotFoundException;
+import com.demo.TaskManager.common.exceptions.ServiceOverloadedException;
 import com.demo.TaskManager.common.exceptions.TaskNotFoundException;
 import com.demo.TaskManager.common.exceptions.UnauthorizedException;
 import com.demo.TaskManager.common.exceptions.UserNotFoundException;
+import com.demo.TaskManager.common.exceptions.VersionConflictException;
 import com.demo.TaskManager.dtos.ValidationErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -75,6 +80,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.warn("[EXCEPTION] PreconditionFailedException: {}", ex.getMessage());
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleVersionConflictException(VersionConflictException ex) {
+        log.warn("[EXCEPTION] VersionConflictException: {}", ex.getMessage());
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * A concurrent write won the race on a versioned entity and the server did not retry
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("[EXCEPTION] OptimisticLockingFailureException: {}", ex.getMessage());
+        ApiResponse<Void> response = ApiResponse.error("Resource was modified concurrently, please retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        log.warn("[EXCEPTION] ServiceOverloadedException: {}", ex.getMessage());
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiResponse<Void>> handleUnauthorizedException(UnauthorizedException ex) {
         log.warn("[EXCEPTION] UnauthorizedException: {}", ex.getMessage());
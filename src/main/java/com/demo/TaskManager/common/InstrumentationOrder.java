@@ -0,0 +1,39 @@
+package com.demo.TaskManager.common;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Orders of the advices wrapping the service methods and of the servlet filters measuring requests,
+ * from the outermost to the innermost. The transactional advice keeps its default lowest precedence,
+ * so it runs inside all of them; Spring Security's filter chain runs inside both filters.
+ */
+public final class InstrumentationOrder {
+
+    /** Service and controller spans (TracingSpanAspect), so that a span covers everything below */
+    public static final int TRACING = Ordered.HIGHEST_PRECEDENCE;
+
+    /** tasks.service timers (ServiceTimingAspect) */
+    public static final int TIMING = Ordered.HIGHEST_PRECEDENCE + 1;
+
+    /** ServiceOperationEvent JFR events (JfrServiceEventAspect) */
+    public static final int JFR = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    /** Caching advice, inside the instrumentation so that cache hits are traced, timed and recorded */
+    public static final int CACHING = Ordered.HIGHEST_PRECEDENCE + 3;
+
+    /**
+     * QueryStatsFilter, outermost so that the statements of every other filter are counted
+     * and its headers are written on any response
+     */
+    public static final int QUERY_STATS_FILTER = Ordered.HIGHEST_PRECEDENCE;
+
+    /**
+     * JfrRequestFilter, inside Spring Boot's HTTP server observation filter
+     * (HIGHEST_PRECEDENCE + 1), so that its events fall within the request span
+     */
+    public static final int JFR_REQUEST_FILTER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    private InstrumentationOrder() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+}
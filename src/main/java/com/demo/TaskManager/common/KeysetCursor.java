@@ -0,0 +1,64 @@
+package com.demo.TaskManager.common;
+
+import com.demo.TaskManager.common.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor of a keyset pagination: the sort key and the id of the last row of a page.
+ * Clients must not build or interpret it, it is only base64url-encoded to keep it URL safe.
+ */
+public record KeysetCursor(String sortKey, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(Object sortKey, Long id) {
+        return new KeysetCursor(String.valueOf(sortKey), id);
+    }
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor the cursor received from the client, may be null or blank for the first page
+     * @return the decoded cursor, or null for the first page
+     * @throws BadRequestException if the cursor was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
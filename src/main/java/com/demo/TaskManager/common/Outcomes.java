@@ -0,0 +1,57 @@
+package com.demo.TaskManager.common;
+
+import com.demo.TaskManager.common.exceptions.BadRequestException;
+import com.demo.TaskManager.common.exceptions.EmailAlreadyExistsException;
+import com.demo.TaskManager.common.exceptions.PreconditionFailedException;
+import com.demo.TaskManager.common.exceptions.ProjectNotFoundException;
+import com.demo.TaskManager.common.exceptions.ResourceNotFoundException;
+import com.demo.TaskManager.common.exceptions.ServiceOverloadedException;
+import com.demo.TaskManager.common.exceptions.TaskNotFoundException;
+import com.demo.TaskManager.common.exceptions.UnauthorizedException;
+import com.demo.TaskManager.common.exceptions.UserNotFoundException;
+import com.demo.TaskManager.common.exceptions.VersionConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Low-cardinality outcome of a service call, shared by the tasks.service timers and the
+ * ServiceOperationEvent JFR events so that both classify failures the same way
+ */
+public final class Outcomes {
+
+    public static final String OK = "ok";
+
+    private Outcomes() {
+        throw new UnsupportedOperationException("Utility class should not be instantiated");
+    }
+
+    /**
+     * @param ex the failure of the call, or of the future it returned
+     * @return not-found, conflict, bad-request, unauthorized, overloaded or error
+     */
+    public static String of(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        if (ex instanceof ResourceNotFoundException || ex instanceof ProjectNotFoundException
+                || ex instanceof TaskNotFoundException || ex instanceof UserNotFoundException) {
+            return "not-found";
+        }
+        if (ex instanceof VersionConflictException || ex instanceof PreconditionFailedException
+                || ex instanceof OptimisticLockingFailureException || ex instanceof EmailAlreadyExistsException) {
+            return "conflict";
+        }
+        if (ex instanceof BadRequestException || ex instanceof IllegalArgumentException) {
+            return "bad-request";
+        }
+        if (ex instanceof UnauthorizedException || ex instanceof AuthenticationException) {
+            return "unauthorized";
+        }
+        if (ex instanceof ServiceOverloadedException) {
+            return "overloaded";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,7 @@
+package com.demo.TaskManager.common.exceptions;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.demo.TaskManager.common.exceptions;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
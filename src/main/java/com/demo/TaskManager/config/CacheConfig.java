@@ -0,0 +1,90 @@
+package com.demo.TaskManager.config;
+
+import com.demo.TaskManager.cache.CacheInvalidationPublisher;
+import com.demo.TaskManager.cache.ClusterCacheManager;
+import com.demo.TaskManager.cache.LocalEvictionListener;
+import com.demo.TaskManager.common.InstrumentationOrder;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-memory caches of the project read models.
+ * Entries are bounded in number and age, and evicted by the writes that change them,
+ * on this node after commit and on the other nodes through {@link CacheInvalidationPublisher}.
+ * The caching advice runs outside the transactional one, so a hit never opens a transaction,
+ * and inside the service spans, timing and JFR events (see InstrumentationOrder), so hits are observed as well.
+ */
+@Configuration
+@EnableCaching(order = InstrumentationOrder.CACHING)
+public class CacheConfig {
+
+    /** ProjectResponse by {@link #PROJECT_KEY} */
+    public static final String PROJECTS = "projects";
+
+    /** ProjectProgressResponse by {@link #PROJECT_KEY} */
+    public static final String PROJECT_PROGRESS = "projectProgress";
+
+    /** First page of the projects of a user, by {@link #USER_KEY} */
+    public static final String USER_PROJECTS = "userProjects";
+
+    /**
+     * Hibernate second-level cache region of User, keyed by user id. Not a Spring cache:
+     * its invalidations are only sent to the other nodes, see UserEntityCacheEvictor
+     */
+    public static final String USERS = "users";
+
+    /** A project is only ever cached for its owner, so the key holds both ids */
+    public static final String PROJECT_KEY = "#userId + ':' + #projectId";
+
+    /** Keys are strings so that they survive the trip through an invalidation message */
+    public static final String USER_KEY = "#userId.toString()";
+
+    public static final List<String> PROJECT_CACHES = List.of(PROJECTS, PROJECT_PROGRESS, USER_PROJECTS);
+
+    /**
+     * @return the key under which {@link #PROJECT_KEY} caches a project
+     */
+    public static String projectKey(Long userId, Long projectId) {
+        return userId + ":" + projectId;
+    }
+
+    /**
+     * @return the key under which {@link #USER_KEY} caches the projects of a user
+     */
+    public static String userKey(Long userId) {
+        return userId.toString();
+    }
+
+    @Bean
+    public ClusterCacheManager cacheManager(CacheInvalidationPublisher publisher,
+                                            ObjectProvider<LocalEvictionListener> evictionListeners,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${tasks.cache.projects.maximum-size:10000}") long maximumSize,
+                                            @Value("${tasks.cache.projects.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        CaffeineCacheManager localCaches = new CaffeineCacheManager();
+        localCaches.setAllowNullValues(false);
+        for (String name : PROJECT_CACHES) {
+            localCaches.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    .build());
+            // Bound here since the actuator does not see through the cluster decorator
+            CaffeineCacheMetrics.monitor(meterRegistry,
+                    ((CaffeineCache) localCaches.getCache(name)).getNativeCache(), name, "cache.manager", "cacheManager");
+        }
+        return new ClusterCacheManager(localCaches, publisher, evictionListeners.orderedStream().toList(),
+                List.of(USERS));
+    }
+}
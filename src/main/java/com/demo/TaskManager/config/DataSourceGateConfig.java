@@ -0,0 +1,45 @@
+package com.demo.TaskManager.config;
+
+import com.demo.TaskManager.datasource.GatedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts a {@link GatedDataSource} in front of the connection pool, enabled by the
+ * virtual-threads profile: with one thread per request, thousands of requests may
+ * wait for a connection at once and should queue on the gate, not inside the pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "tasks.datasource.gate.enabled", havingValue = "true")
+public class DataSourceGateConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceGate(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource) {
+                    return bean;
+                }
+                // Defaults to the pool size, so that a permit always means a free connection
+                int permits = environment.getProperty("tasks.datasource.gate.permits", Integer.class, 0);
+                if (permits <= 0) {
+                    permits = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                Duration acquireTimeout = environment.getProperty("tasks.datasource.gate.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(30));
+                log.info("[DATASOURCE] Gating '{}' with {} permits (timeout: {})", beanName, permits, acquireTimeout);
+                return new GatedDataSource(dataSource, permits, acquireTimeout);
+            }
+        };
+    }
+}
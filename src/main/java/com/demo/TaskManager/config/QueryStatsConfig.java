@@ -0,0 +1,94 @@
+package com.demo.TaskManager.config;
+
+import com.demo.TaskManager.querystats.QueryStatsFilter;
+import com.demo.TaskManager.querystats.QueryStatsListener;
+import com.demo.TaskManager.querystats.SlowQueriesEndpoint;
+import com.demo.TaskManager.querystats.SlowQueryListener;
+import com.demo.TaskManager.querystats.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the data source in a datasource-proxy that counts the statements, rows and JDBC time
+ * of each HTTP request (see QueryStatsFilter), flags statements repeated more than
+ * {@code tasks.query-stats.repeated-statement-threshold} times in a request, and keeps the
+ * statements slower than {@code tasks.query-stats.slow-query-threshold} for /actuator/slowqueries.
+ * The same proxy reports connections, statements and result sets as observations, hence as tracing spans.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public static SlowQueryLog slowQueryLog(Environment environment) {
+        return new SlowQueryLog(
+                environment.getProperty("tasks.query-stats.slow-query-capacity", Integer.class, 200),
+                environment.getProperty("tasks.query-stats.slow-query-threshold", Duration.class, Duration.ofMillis(200)));
+    }
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourceProxy(Environment environment, SlowQueryLog slowQueryLog,
+                                                              ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                QueryStatsListener listener = new QueryStatsListener(
+                        environment.getProperty("tasks.query-stats.repeated-statement-threshold", Integer.class, 10),
+                        environment.getProperty("tasks.query-stats.repeated-statement-mode",
+                                QueryStatsListener.Mode.class, QueryStatsListener.Mode.LOG));
+                // The registry is looked up on first use: it is not ready while post-processors are created
+                DataSourceObservationListener observationListener = new DataSourceObservationListener(
+                        () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .listener(new SlowQueryListener(slowQueryLog))
+                        .listener(observationListener)
+                        .methodListener(observationListener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public QueryStatsFilter queryStatsFilter(MeterRegistry meterRegistry) {
+        return new QueryStatsFilter(meterRegistry);
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryLog slowQueryLog, EntityManagerFactory entityManagerFactory) {
+        return new SlowQueriesEndpoint(slowQueryLog, entityManagerFactory);
+    }
+
+    /**
+     * Per-query executions, rows and times from the Hibernate statistics, as hibernate.query.* meters.
+     * The session factory wide figures are bound by Spring Boot.
+     */
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", Tags.empty());
+    }
+}
@@ -0,0 +1,12 @@
+package com.demo.TaskManager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the project counter reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,17 @@
 package com.demo.TaskManager.config;
 
+import com.demo.TaskManager.admission.AdmissionControlFilter;
+import com.demo.TaskManager.ratelimit.RateLimitFilter;
 import com.demo.TaskManager.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -33,12 +41,20 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final PasswordEncoder passwordEncoder;
+    private final Environment environment;
 
-    public SecurityConfig(UserDetailsService userDetailsService, JwtAuthenticationFilter jwtAuthenticationFilter, PasswordEncoder passwordEncoder) {
+    public SecurityConfig(UserDetailsService userDetailsService, JwtAuthenticationFilter jwtAuthenticationFilter,
+                          AdmissionControlFilter admissionControlFilter, RateLimitFilter rateLimitFilter,
+                          PasswordEncoder passwordEncoder, Environment environment) {
         this.userDetailsService = userDetailsService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.admissionControlFilter = admissionControlFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.passwordEncoder = passwordEncoder;
+        this.environment = environment;
     }
 
     @Bean
@@ -55,14 +71,32 @@ public class SecurityConfig {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/**").permitAll()
-                        .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    // Streamed exports complete on an async dispatch, the request was already authorized
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                            .requestMatchers("/auth/**").permitAll();
+                    if (onSeparateManagementPort()) {
+                        // Probes and scrapers carry no token: allowed only on the internal management port
+                        auth.requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                                .permitAll();
+                    }
+                    auth.anyRequest().authenticated();
+                })
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(admissionControlFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         return http.build();
     }
+
+    /**
+     * True when the actuator has a port of its own, set by management.server.port.
+     * On the application port, health and metrics need a token like any other endpoint.
+     */
+    private boolean onSeparateManagementPort() {
+        return ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
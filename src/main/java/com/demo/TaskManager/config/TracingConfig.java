@@ -0,0 +1,59 @@
+package com.demo.TaskManager.config;
+
+import com.demo.TaskManager.tracing.JsonLinesSpanExporter;
+import com.demo.TaskManager.tracing.TailSamplingSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Puts every span exporter (OTLP when management.otlp.tracing.endpoint is set, the JSON lines file
+ * of the tracing-local profile) behind a {@link TailSamplingSpanExporter}: only the traces slower
+ * than {@code tasks.tracing.tail-sampling.latency-threshold}, the failed ones and a
+ * {@code baseline-ratio} share of the others leave the application.
+ */
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static BeanPostProcessor tailSamplingSpanExporter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof SpanExporter exporter) || bean instanceof TailSamplingSpanExporter
+                        || !environment.getProperty("tasks.tracing.tail-sampling.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                Duration latencyThreshold = environment.getProperty("tasks.tracing.tail-sampling.latency-threshold",
+                        Duration.class, Duration.ofMillis(500));
+                double baselineRatio = environment.getProperty("tasks.tracing.tail-sampling.baseline-ratio",
+                        Double.class, 0.01);
+                log.info("[TRACING] Tail sampling '{}': traces over {}, failed ones and {} of the others",
+                        beanName, latencyThreshold, baselineRatio);
+                return new TailSamplingSpanExporter(exporter, latencyThreshold, baselineRatio,
+                        environment.getProperty("tasks.tracing.tail-sampling.max-pending-traces", Long.class, 10_000L),
+                        environment.getProperty("tasks.tracing.tail-sampling.decision-wait",
+                                Duration.class, Duration.ofMinutes(1)));
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tasks.tracing.file.enabled", havingValue = "true")
+    public SpanExporter jsonLinesSpanExporter(ObjectMapper objectMapper,
+                                              @Value("${tasks.tracing.file.path:build/traces.jsonl}") Path file)
+            throws IOException {
+        return new JsonLinesSpanExporter(objectMapper, file);
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.TaskManager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refuses to start with spring.threads.virtual.enabled (the virtual-threads profile) on a runtime
+ * older than Java 21: Spring Boot would silently keep the platform thread pools, while the profile
+ * also lifts the connector limits sized for virtual threads.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig() {
+        JavaVersion runtime = JavaVersion.getJavaVersion();
+        if (runtime.isOlderThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java 21 or later, running on "
+                    + runtime + ": start the application with a Java 21 runtime or without the virtual-threads profile");
+        }
+        log.info("[THREADS] Handling requests on virtual threads (Java {})", runtime);
+    }
+}
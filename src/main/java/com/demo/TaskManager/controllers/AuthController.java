@@ -10,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
 @RequestMapping("/auth")
@@ -18,19 +20,22 @@ public class AuthController {
 
     private final AuthService authService;
 
+    /**
+     * Completes asynchronously: the request thread is released while the password is hashed
+     */
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<String>> register(@RequestBody @Valid RegisterRequest dto) {
-        String token;
-        token = authService.registerUser(dto);
-        ApiResponse<String> response = ApiResponse.success(token, "Inscription réussie");
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> register(@RequestBody @Valid RegisterRequest dto) {
+        return authService.registerUser(dto)
+                .thenApply(token -> ResponseEntity.ok(ApiResponse.success(token, "Inscription réussie")));
     }
 
+    /**
+     * Completes asynchronously: the request thread is released while the password is verified
+     */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<String>> login(@RequestBody @Valid LoginRequest loginRequest) {
-        String token = authService.login(loginRequest);
-        ApiResponse<String> response = ApiResponse.success(token, "Connexion réussie");
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> login(@RequestBody @Valid LoginRequest loginRequest) {
+        return authService.login(loginRequest)
+                .thenApply(token -> ResponseEntity.ok(ApiResponse.success(token, "Connexion réussie")));
     }
 
 }
\ No newline at end of file
@@ -1,18 +1,20 @@
 package com.demo.TaskManager.controllers;
 
+import com.demo.TaskManager.dtos.PageResponse;
 import com.demo.TaskManager.dtos.ProjectProgressResponse;
 import com.demo.TaskManager.dtos.ProjectRequest;
 import com.demo.TaskManager.dtos.ProjectResponse;
-import com.demo.TaskManager.security.SecurityUser;
+import com.demo.TaskManager.mappers.ProjectMapper;
+import com.demo.TaskManager.security.JwtPrincipal;
 import com.demo.TaskManager.services.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -25,48 +27,68 @@ public class ProjectController {
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<ProjectResponse> createProject(
             @Valid @RequestBody ProjectRequest request,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        ProjectResponse response = projectService.createProject(request, securityUser.getUserId());
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        ProjectResponse response = projectService.createProject(request, principal.userId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects(@AuthenticationPrincipal SecurityUser securityUser) {
-        List<ProjectResponse> projects = projectService.getUserProjects(securityUser.getUserId());
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<PageResponse<ProjectResponse>> getAllProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
+        String eTag = projectService.getUserProjectsETag(principal.userId(), cursor, limit);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        PageResponse<ProjectResponse> projects = projectService.getUserProjects(
+                principal.userId(), cursor, limit);
+        return ResponseEntity.ok().eTag(eTag).body(projects);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(
             @PathVariable Long id,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        ProjectResponse project = projectService.getProjectById(id, securityUser.getUserId());
-        return ResponseEntity.ok(project);
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
+        ProjectResponse project = projectService.getProjectById(id, principal.userId());
+        String eTag = ProjectMapper.toETag(project);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(project);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody ProjectRequest request,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        ProjectResponse response = projectService.updateProject(id, request, securityUser.getUserId());
-        return ResponseEntity.ok(response);
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        ProjectResponse response = projectService.updateProject(id, request, principal.userId(), ifMatch);
+        return ResponseEntity.ok().eTag(ProjectMapper.toETag(response)).body(response);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(
             @PathVariable Long id,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        projectService.deleteProject(id, securityUser.getUserId());
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        projectService.deleteProject(id, principal.userId());
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}/progress")
     public ResponseEntity<ProjectProgressResponse> getProjectProgress(
             @PathVariable Long id,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        ProjectProgressResponse progress = projectService.getProjectProgress(id, securityUser.getUserId());
-        return ResponseEntity.ok(progress);
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
+        ProjectProgressResponse progress = projectService.getProjectProgress(id, principal.userId());
+        String eTag = ProjectMapper.toETag(progress);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(progress);
     }
 }
 
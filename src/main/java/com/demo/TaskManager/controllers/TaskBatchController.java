@@ -0,0 +1,27 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.dtos.TaskBatchRequest;
+import com.demo.TaskManager.dtos.TaskBatchResponse;
+import com.demo.TaskManager.security.JwtPrincipal;
+import com.demo.TaskManager.services.TaskBatchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskBatchController {
+
+    private final TaskBatchService taskBatchService;
+
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> applyOperations(
+            @Valid @RequestBody TaskBatchRequest request,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        TaskBatchResponse response = taskBatchService.applyOperations(request.getOperations(), principal.userId());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,30 @@
 package com.demo.TaskManager.controllers;
 
+import com.demo.TaskManager.dtos.BulkTaskRequest;
+import com.demo.TaskManager.dtos.BulkTaskResponse;
+import com.demo.TaskManager.dtos.PageResponse;
+import com.demo.TaskManager.dtos.TaskFileFormat;
+import com.demo.TaskManager.dtos.TaskFilter;
+import com.demo.TaskManager.dtos.TaskImportResponse;
 import com.demo.TaskManager.dtos.TaskRequest;
 import com.demo.TaskManager.dtos.TaskResponse;
-import com.demo.TaskManager.security.SecurityUser;
+import com.demo.TaskManager.mappers.TaskMapper;
+import com.demo.TaskManager.security.JwtPrincipal;
+import com.demo.TaskManager.services.TaskImportService;
 import com.demo.TaskManager.services.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
@@ -19,31 +32,70 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
             @PathVariable Long projectId,
             @Valid @RequestBody TaskRequest request,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        TaskResponse response = taskService.createTask(projectId, request, securityUser.getUserId());
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        TaskResponse response = taskService.createTask(projectId, request, principal.userId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> createTasks(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkTaskRequest request,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        BulkTaskResponse response = taskService.createTasks(projectId, request.getTasks(), principal.userId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body,
+            @AuthenticationPrincipal JwtPrincipal principal) throws IOException {
+        TaskImportResponse response = taskImportService.importTasks(
+                projectId, principal.userId(), TaskFileFormat.from(format), body);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks(
+    public ResponseEntity<PageResponse<TaskResponse>> getAllTasks(
             @PathVariable Long projectId,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        List<TaskResponse> tasks = taskService.getProjectTasks(projectId, securityUser.getUserId());
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
+        TaskFilter filter = new TaskFilter(completed, dueFrom, dueTo);
+        // Checked before the page is even queried
+        String eTag = taskService.getProjectTasksETag(projectId, filter, cursor, limit, principal.userId());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        PageResponse<TaskResponse> tasks = taskService.getProjectTasks(
+                projectId, filter, cursor, limit, principal.userId());
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
     }
 
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskResponse> getTaskById(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        TaskResponse task = taskService.getTaskById(projectId, taskId, securityUser.getUserId());
-        return ResponseEntity.ok(task);
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
+        TaskResponse task = taskService.getTaskById(projectId, taskId, principal.userId());
+        String eTag = TaskMapper.toETag(task);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(task);
     }
 
     @PutMapping("/{taskId}")
@@ -51,17 +103,18 @@ public class TaskController {
             @PathVariable Long projectId,
             @PathVariable Long taskId,
             @Valid @RequestBody TaskRequest request,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        TaskResponse response = taskService.updateTask(projectId, taskId, request, securityUser.getUserId());
-        return ResponseEntity.ok(response);
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        TaskResponse response = taskService.updateTask(projectId, taskId, request, principal.userId(), ifMatch);
+        return ResponseEntity.ok().eTag(TaskMapper.toETag(response)).body(response);
     }
 
     @PatchMapping("/{taskId}/complete")
     public ResponseEntity<TaskResponse> markTaskAsCompleted(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        TaskResponse response = taskService.markTaskAsCompleted(projectId, taskId, securityUser.getUserId());
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        TaskResponse response = taskService.markTaskAsCompleted(projectId, taskId, principal.userId());
         return ResponseEntity.ok(response);
     }
 
@@ -69,8 +122,8 @@ public class TaskController {
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
-            @AuthenticationPrincipal SecurityUser securityUser) {
-        taskService.deleteTask(projectId, taskId, securityUser.getUserId());
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        taskService.deleteTask(projectId, taskId, principal.userId());
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,52 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.dtos.TaskFileFormat;
+import com.demo.TaskManager.security.JwtPrincipal;
+import com.demo.TaskManager.services.TaskExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class TaskExportController {
+
+    private final TaskExportService taskExportService;
+
+    @GetMapping("/projects/{projectId}/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportProjectTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        TaskFileFormat exportFormat = TaskFileFormat.from(format);
+        StreamingResponseBody body = taskExportService.exportProjectTasks(
+                projectId, principal.userId(), exportFormat);
+        return attachment("project-" + projectId + "-tasks", exportFormat, body);
+    }
+
+    @GetMapping("/tasks/export")
+    public ResponseEntity<StreamingResponseBody> exportUserTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        TaskFileFormat exportFormat = TaskFileFormat.from(format);
+        StreamingResponseBody body = taskExportService.exportUserTasks(principal.userId(), exportFormat);
+        return attachment("tasks", exportFormat, body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String baseName, TaskFileFormat format,
+                                                                    StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(baseName + "." + format.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,21 @@
+package com.demo.TaskManager.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskRequest {
+
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 50000, message = "At most 50000 tasks can be created at once")
+    private List<@NotNull(message = "Task must not be null") @Valid TaskRequest> tasks;
+}
@@ -0,0 +1,17 @@
+package com.demo.TaskManager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResponse {
+    private int createdCount;
+    private List<Long> taskIds;
+}
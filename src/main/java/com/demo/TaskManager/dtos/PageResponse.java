@@ -0,0 +1,61 @@
+package com.demo.TaskManager.dtos;
+
+import com.demo.TaskManager.common.KeysetCursor;
+import com.demo.TaskManager.common.exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ * {@code nextCursor} is null on the last page and must be sent back as-is to fetch the next one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * @throws BadRequestException if the requested page size is out of bounds
+     */
+    public static int checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra row beyond the page size,
+     * which only serves to know whether a next page exists
+     * @param rows the rows, at most pageSize + 1
+     * @param pageSize the requested page size
+     * @param mapper converts a row to its response DTO
+     * @param cursorOf builds the keyset cursor pointing after a row
+     */
+    public static <E, T> PageResponse<T> of(List<E> rows, int pageSize,
+                                            Function<E, T> mapper,
+                                            Function<E, KeysetCursor> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+
+        return PageResponse.<T>builder()
+                .items(page.stream().map(mapper).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
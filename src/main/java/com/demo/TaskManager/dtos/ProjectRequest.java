@@ -1,6 +1,7 @@
 package com.demo.TaskManager.dtos;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,7 +12,15 @@ import lombok.NoArgsConstructor;
 public class ProjectRequest {
 
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
+    @Size(max = 1000, message = "Description must be at most 1000 characters")
     private String description;
+
+    /**
+     * Optional: the version the client read. When set, an update is rejected with 409
+     * if the project changed in the meantime; it is ignored on creation.
+     */
+    private Long version;
 }
 
@@ -20,5 +20,6 @@ public class ProjectResponse {
     private double progressPercentage;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
 
@@ -0,0 +1,21 @@
+package com.demo.TaskManager.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "At most 1000 operations can be sent at once")
+    private List<@NotNull(message = "Operation must not be null") @Valid TaskOperation> operations;
+}
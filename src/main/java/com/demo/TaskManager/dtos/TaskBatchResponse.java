@@ -0,0 +1,18 @@
+package com.demo.TaskManager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<TaskOperationResult> results;
+}
@@ -0,0 +1,31 @@
+package com.demo.TaskManager.dtos;
+
+import com.demo.TaskManager.common.exceptions.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * File formats supported by the task export and import
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    /**
+     * @param value the format as given by the client, e.g. "ndjson" or "csv"
+     * @throws BadRequestException if the format is not supported
+     */
+    public static TaskFileFormat from(String value) {
+        for (TaskFileFormat format : values()) {
+            if (format.fileExtension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format: " + value);
+    }
+}
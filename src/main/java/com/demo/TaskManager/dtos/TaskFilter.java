@@ -0,0 +1,13 @@
+package com.demo.TaskManager.dtos;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters of the task listing, a null value means "no filter"
+ */
+public record TaskFilter(
+        Boolean completed,
+        LocalDate dueFrom,
+        LocalDate dueTo
+) {
+}
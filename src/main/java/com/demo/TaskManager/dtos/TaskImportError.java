@@ -0,0 +1,18 @@
+package com.demo.TaskManager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an import that was rejected, identified by the line on which it starts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportError {
+    private long line;
+    private String error;
+}
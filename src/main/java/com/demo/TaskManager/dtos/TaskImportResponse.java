@@ -0,0 +1,29 @@
+package com.demo.TaskManager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary of an import. Rows are committed by chunks, so imported rows stay
+ * even when the import stops early on an unreadable input.
+ * A chunk rejected by the database is retried row by row: only the offending rows are reported in errors.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResponse {
+    private long importedCount;
+    private long failedCount;
+    /** The first rejected rows, at most tasks.import.max-reported-errors of them */
+    private List<TaskImportError> errors;
+    private boolean errorsTruncated;
+    /** Set when the rest of the input could not be read, along with the reason */
+    private String abortedReason;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
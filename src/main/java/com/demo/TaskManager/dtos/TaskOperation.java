@@ -0,0 +1,28 @@
+package com.demo.TaskManager.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One operation of a task batch.
+ * {@code taskId} is required for UPDATE, COMPLETE and DELETE, {@code task} for CREATE and UPDATE.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperation {
+
+    @NotNull(message = "Operation type is required")
+    private TaskOperationType type;
+
+    @NotNull(message = "Project id is required")
+    private Long projectId;
+
+    private Long taskId;
+
+    @Valid
+    private TaskRequest task;
+}
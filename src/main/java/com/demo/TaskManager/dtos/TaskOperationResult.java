@@ -0,0 +1,29 @@
+package com.demo.TaskManager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one operation of a task batch, in the order of the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskOperationResult {
+
+    public enum Status {
+        OK,
+        NOT_FOUND,
+        INVALID,
+        CONFLICT
+    }
+
+    private int index;
+    private TaskOperationType type;
+    private Status status;
+    private TaskResponse task;
+    private String error;
+}
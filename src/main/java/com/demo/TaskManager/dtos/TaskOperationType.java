@@ -0,0 +1,8 @@
+package com.demo.TaskManager.dtos;
+
+public enum TaskOperationType {
+    CREATE,
+    UPDATE,
+    COMPLETE,
+    DELETE
+}
@@ -2,6 +2,7 @@ package com.demo.TaskManager.dtos;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,11 +15,19 @@ import java.time.LocalDate;
 public class TaskRequest {
 
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
 
+    @Size(max = 2000, message = "Description must be at most 2000 characters")
     private String description;
 
     @NotNull(message = "Due date is required")
     private LocalDate dueDate;
+
+    /**
+     * Optional: the version the client read. When set, an update is rejected with 409
+     * if the task changed in the meantime; it is ignored on creation.
+     */
+    private Long version;
 }
 
@@ -20,5 +20,6 @@ public class TaskResponse {
     private boolean completed;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
 
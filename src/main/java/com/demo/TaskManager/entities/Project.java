@@ -2,6 +2,9 @@ package com.demo.TaskManager.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,8 +12,15 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Cached in the "projects" second-level region. Since the task counters change behind Hibernate's back,
+ * entries are evicted along with the project read model (see ProjectEntityCacheEvictor).
+ */
 @Entity
-@Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_user_created_at", columnList = "user_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +45,19 @@ public class Project {
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
 
+    /**
+     * Denormalized task counters, only ever changed by atomic SQL increments
+     * (see ProjectRepository#adjustTaskCounters and TaskCounterListener).
+     * They are never written back by entity flushes so a stale copy cannot overwrite them.
+     */
+    @Column(name = "total_tasks", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int totalTasks;
+
+    @Column(name = "completed_tasks", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int completedTasks;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -42,16 +65,17 @@ public class Project {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    public int getTotalTasks() {
-        return tasks != null ? tasks.size() : 0;
-    }
-    public long getCompletedTasks() {
-        return tasks != null ? tasks.stream().filter(Task::isCompleted).count() : 0;
-    }
+    /**
+     * Optimistic lock on the title and description. Counter increments do not bump it,
+     * so that edits of a project are not rejected because its tasks changed.
+     */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
 
     public double getProgressPercentage() {
-        int total = getTotalTasks();
-        if (total == 0) return 0.0;
-        return (getCompletedTasks() * 100.0) / total;
+        if (totalTasks == 0) return 0.0;
+        return (completedTasks * 100.0) / totalTasks;
     }
 }
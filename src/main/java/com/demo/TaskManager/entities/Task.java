@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,7 +13,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_due_date", columnList = "project_id, due_date, id"),
+        @Index(name = "idx_tasks_project_completed_due_date", columnList = "project_id, completed, due_date, id"),
+        @Index(name = "idx_tasks_project_updated_at", columnList = "project_id, updated_at")
+})
+@EntityListeners(TaskCounterListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,4 +52,13 @@ public class Task {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock. Tasks are mostly written with native statements
+     * (TaskRepository, TaskJdbcRepository), which bump it themselves.
+     */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
 }
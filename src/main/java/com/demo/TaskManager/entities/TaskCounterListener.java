@@ -0,0 +1,41 @@
+package com.demo.TaskManager.entities;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the denormalized counters of {@link Project} in sync when a Task row is
+ * inserted or deleted through the persistence context, including the deletes
+ * triggered by orphan removal on {@code Project.tasks}.
+ * The statements run on the connection of the current transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCounterListener {
+
+    private static final String ADJUST_COUNTERS_SQL =
+            "UPDATE projects SET total_tasks = total_tasks + ?, completed_tasks = completed_tasks + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostPersist
+    public void onTaskInserted(Task task) {
+        adjust(task, 1);
+    }
+
+    @PostRemove
+    public void onTaskRemoved(Task task) {
+        adjust(task, -1);
+    }
+
+    private void adjust(Task task, int delta) {
+        Long projectId = task.getProject().getId();
+        jdbcTemplate.update(ADJUST_COUNTERS_SQL, delta, task.isCompleted() ? delta : 0, projectId);
+        log.debug("[TASK] Counters of project {} adjusted by {} (task {})", projectId, delta, task.getId());
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.TaskManager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.demo.TaskManager.HttpRequest")
+@Label("HTTP Request")
+@Description("Handling of one HTTP request, from the first filter to the response")
+@Category({"Task Manager", "HTTP"})
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    @Description("Route pattern of the handler, or the raw path when unmapped")
+    public String route;
+
+    @Label("Status")
+    public int status;
+}
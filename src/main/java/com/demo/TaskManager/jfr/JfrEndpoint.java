@@ -0,0 +1,121 @@
+package com.demo.TaskManager.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Controls one continuous flight recording, bounded in age and size, at /actuator/jfr:
+ * GET for its state, POST to start it, DELETE to stop it, GET /actuator/jfr/dump to download
+ * what it holds so far. The recording uses the JDK "default" settings (about 1% overhead)
+ * plus the Task Manager events.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint implements DisposableBean {
+
+    private static final String RECORDING_NAME = "task-manager";
+    private static final String DUMP = "dump";
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final String settings;
+    private Recording recording;
+
+    public JfrEndpoint(@Value("${tasks.jfr.max-age:PT30M}") Duration maxAge,
+                       @Value("${tasks.jfr.max-size:100MB}") DataSize maxSize,
+                       @Value("${tasks.jfr.settings:default}") String settings) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    public record RecordingStatus(String state, Instant startTime, Duration maxAge, long maxSizeBytes,
+                                  String settings) {
+    }
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return new RecordingStatus(RecordingState.CLOSED.name(), null, maxAge, maxSize.toBytes(), settings);
+        }
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(), maxAge,
+                maxSize.toBytes(), settings);
+    }
+
+    @WriteOperation
+    public synchronized RecordingStatus start() throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        close();
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.setMaxSize(maxSize.toBytes());
+        newRecording.enable(HttpRequestEvent.class);
+        newRecording.enable(ServiceOperationEvent.class);
+        newRecording.enable(JwtVerificationEvent.class);
+        newRecording.enable(PasswordHashingEvent.class);
+        newRecording.start();
+        recording = newRecording;
+        log.info("[JFR] Recording started (max age: {}, max size: {}, settings: {})", maxAge, maxSize, settings);
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized RecordingStatus stop() {
+        close();
+        log.info("[JFR] Recording stopped");
+        return status();
+    }
+
+    /**
+     * @return a snapshot of the running recording, or null (404) when there is none
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource dump(@Selector String action) throws IOException {
+        if (!DUMP.equals(action) || recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        // A single file, overwritten by each dump, so that dumps do not pile up on disk
+        Path file = Path.of(System.getProperty("java.io.tmpdir"), RECORDING_NAME + ".jfr");
+        Files.deleteIfExists(file);
+        recording.dump(file);
+        log.info("[JFR] Recording dumped to {} ({} bytes)", file, Files.size(file));
+        return new FileSystemResource(file);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        close();
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
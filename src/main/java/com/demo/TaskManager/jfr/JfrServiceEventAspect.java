@@ -0,0 +1,71 @@
+package com.demo.TaskManager.jfr;
+
+import com.demo.TaskManager.common.InstrumentationOrder;
+import com.demo.TaskManager.common.Outcomes;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Emits a {@link ServiceOperationEvent} per service call, carrying the user, project and task ids
+ * found among the arguments. Without a recording enabling the event, only the event object
+ * is allocated (and usually scalar-replaced), the arguments are not even looked at.
+ */
+@Aspect
+@Component
+@Order(InstrumentationOrder.JFR)
+public class JfrServiceEventAspect {
+
+    @Around("execution(public * com.demo.TaskManager.services.TaskService.*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.ProjectService.*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.AuthService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            commit(event, joinPoint, Outcomes.of(ex));
+            throw ex;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            return future.whenComplete((value, ex) ->
+                    commit(event, joinPoint, ex == null ? Outcomes.OK : Outcomes.of(ex)));
+        }
+        commit(event, joinPoint, Outcomes.OK);
+        return result;
+    }
+
+    private static void commit(ServiceOperationEvent event, ProceedingJoinPoint joinPoint, String outcome) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        event.operation = joinPoint.getSignature().getName();
+        event.outcome = outcome;
+        String[] names = ((CodeSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (args[i] instanceof Long id) {
+                switch (names[i]) {
+                    case "userId" -> event.userId = id;
+                    case "projectId" -> event.projectId = id;
+                    case "taskId" -> event.taskId = id;
+                    default -> {
+                    }
+                }
+            }
+        }
+        event.commit();
+    }
+}
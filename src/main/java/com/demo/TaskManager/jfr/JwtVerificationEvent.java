@@ -0,0 +1,22 @@
+package com.demo.TaskManager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.demo.TaskManager.JwtVerification")
+@Label("JWT Verification")
+@Description("Verification of a bearer token, from the verified-token cache or with a full decode")
+@Category({"Task Manager", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("User Id")
+    public long userId;
+}
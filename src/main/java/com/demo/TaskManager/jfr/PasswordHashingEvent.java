@@ -0,0 +1,29 @@
+package com.demo.TaskManager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.demo.TaskManager.PasswordHashing")
+@Label("Password Hashing")
+@Description("Password hashing or verification on the hashing pool")
+@Category({"Task Manager", "Security"})
+@StackTrace(false)
+public class PasswordHashingEvent extends Event {
+
+    @Label("Operation")
+    @Description("encode on registration, verify on login")
+    public String operation;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    @Label("Queue Time")
+    @Description("Time spent waiting for a hashing thread")
+    @Timespan
+    public long queueTime;
+}
@@ -0,0 +1,34 @@
+package com.demo.TaskManager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.demo.TaskManager.ServiceOperation")
+@Label("Service Operation")
+@Description("Call of a public TaskService, ProjectService or AuthService method")
+@Category({"Task Manager", "Service"})
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Project Id")
+    public long projectId;
+
+    @Label("Task Id")
+    public long taskId;
+}
@@ -1,6 +1,5 @@
 package com.demo.TaskManager.mappers;
 
-import com.demo.TaskManager.dtos.LoginRequest;
 import com.demo.TaskManager.dtos.RegisterRequest;
 import com.demo.TaskManager.entities.User;
 
@@ -22,15 +21,5 @@ public class AuthMapper {
                 .password(dto.password())
                 .build();
     }
-
-    /**
-     * Convert RegisterRequest to LoginRequest
-     * Used after registration to automatically login the user
-     * @param dto RegisterRequest containing email and password
-     * @return LoginRequest with email and password
-     */
-    public static LoginRequest fromDto(RegisterRequest dto) {
-        return new LoginRequest(dto.email(), dto.password());
-    }
 }
 
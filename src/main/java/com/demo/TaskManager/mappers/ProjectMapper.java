@@ -1,11 +1,14 @@
 package com.demo.TaskManager.mappers;
 
+import com.demo.TaskManager.common.ETags;
 import com.demo.TaskManager.dtos.ProjectProgressResponse;
 import com.demo.TaskManager.dtos.ProjectRequest;
 import com.demo.TaskManager.dtos.ProjectResponse;
 import com.demo.TaskManager.entities.Project;
 import com.demo.TaskManager.entities.User;
 
+import java.time.LocalDateTime;
+
 /**
  * Mapper utility class for Project entity transformations
  */
@@ -51,6 +54,8 @@ public class ProjectMapper {
                 .completedTasks(project.getCompletedTasks())
                 .progressPercentage(project.getProgressPercentage())
                 .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .version(project.getVersion())
                 .build();
     }
 
@@ -72,5 +77,20 @@ public class ProjectMapper {
                 .progressPercentage(project.getProgressPercentage())
                 .build();
     }
-}
 
+    /**
+     * Tag d'entité d'un projet : son contenu propre et ses compteurs de tâches
+     */
+    public static String toETag(Long projectId, LocalDateTime updatedAt, long totalTasks, long completedTasks) {
+        return ETags.weak("project", projectId, updatedAt, totalTasks, completedTasks);
+    }
+
+    public static String toETag(ProjectResponse project) {
+        return toETag(project.getId(), project.getUpdatedAt(), project.getTotalTasks(), project.getCompletedTasks());
+    }
+
+    public static String toETag(ProjectProgressResponse progress) {
+        return ETags.weak("progress", progress.getProjectId(), progress.getProjectTitle(),
+                progress.getTotalTasks(), progress.getCompletedTasks());
+    }
+}
@@ -1,10 +1,13 @@
 package com.demo.TaskManager.mappers;
 
+import com.demo.TaskManager.common.ETags;
 import com.demo.TaskManager.dtos.TaskRequest;
 import com.demo.TaskManager.dtos.TaskResponse;
 import com.demo.TaskManager.entities.Project;
 import com.demo.TaskManager.entities.Task;
 
+import java.time.LocalDateTime;
+
 /**
  * Mapper utility class for Task entity transformations
  */
@@ -52,7 +55,18 @@ public class TaskMapper {
                 .completed(task.isCompleted())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .build();
     }
-}
 
+    /**
+     * Tag d'entité d'une tâche, qui change à chaque mise à jour
+     */
+    public static String toETag(Long taskId, LocalDateTime updatedAt) {
+        return ETags.weak("task", taskId, updatedAt);
+    }
+
+    public static String toETag(TaskResponse task) {
+        return toETag(task.getId(), task.getUpdatedAt());
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.TaskManager.metrics;
+
+import com.demo.TaskManager.common.InstrumentationOrder;
+import com.demo.TaskManager.common.Outcomes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Times every public method of TaskService, ProjectService and AuthService as {@code tasks.service},
+ * tagged by service, method and outcome (see Outcomes). Runs inside the service spans and outside
+ * the caching advice (see InstrumentationOrder), so cache hits are timed too, and methods returning
+ * a CompletableFuture are timed until the future completes.
+ * Histogram buckets are set with management.metrics.distribution.slo.tasks.service.
+ */
+@Aspect
+@Component
+@Order(InstrumentationOrder.TIMING)
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    static final String METRIC_NAME = "tasks.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.demo.TaskManager.services.TaskService.*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.ProjectService.*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            stop(sample, service, method, Outcomes.of(ex));
+            throw ex;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            return future.whenComplete((value, ex) ->
+                    stop(sample, service, method, ex == null ? Outcomes.OK : Outcomes.of(ex)));
+        }
+        stop(sample, service, method, Outcomes.OK);
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String service, String method, String outcome) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Service operations")
+                .tags("service", service, "method", method, "outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,106 @@
+package com.demo.TaskManager.querystats;
+
+import com.demo.TaskManager.common.InstrumentationOrder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the JDBC activity of each request. Reports it to the client in X-Query-Count and
+ * Server-Timing, written when the response is committed, and records it as distributions
+ * tagged by endpoint once the request is over.
+ */
+@Order(InstrumentationOrder.QUERY_STATS_FILTER)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        StatsHeadersResponse statsResponse = new StatsHeadersResponse(response, stats);
+        try {
+            filterChain.doFilter(request, statsResponse);
+            // Responses without a body (204, 304) are committed by the container after the filters
+            if (!response.isCommitted()) {
+                statsResponse.writeHeaders();
+            }
+        } finally {
+            RequestQueryStats.stop();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("tasks.http.queries")
+                .description("SQL statements per request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("tasks.http.rows")
+                .description("Rows read per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("tasks.http.jdbc")
+                .description("Time spent in JDBC per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the headers at the last moment they can be, with what has run by then
+     */
+    private static class StatsHeadersResponse extends OnCommittedResponseWrapper {
+
+        private final RequestQueryStats stats;
+        private boolean written;
+
+        StatsHeadersResponse(HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written) {
+                return;
+            }
+            written = true;
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.getStatements()));
+            addHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d queries, %d rows\"",
+                    stats.getJdbcNanos() / 1_000_000.0, stats.getStatements(), stats.getRows()));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.demo.TaskManager.querystats;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds the statements and rows of the proxied data source into the stats of the current request,
+ * and reports statement shapes repeated more than {@code threshold} times in one request,
+ * the usual sign of an N+1 select.
+ */
+@Slf4j
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    public enum Mode {
+        /** Log a warning the first time a shape crosses the threshold */
+        LOG,
+        /** Fail the statement that crosses the threshold, for development and tests */
+        FAIL
+    }
+
+    private final int threshold;
+    private final Mode mode;
+
+    public QueryStatsListener(int threshold, Mode mode) {
+        this.threshold = threshold;
+        this.mode = mode;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.beforeQuery();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        int count = stats.afterQuery(sql);
+        if (count == threshold + 1) {
+            String shape = RequestQueryStats.shape(sql);
+            if (mode == Mode.FAIL) {
+                throw new RepeatedStatementException(count, shape);
+            }
+            log.warn("[QUERY] Statement ran {} times in one request (threshold {}), possible N+1: {}",
+                count, threshold, shape);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.rowRead();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.demo.TaskManager.querystats;
+
+/**
+ * Raised in {@link QueryStatsListener.Mode#FAIL} mode when a request runs the same statement
+ * shape more times than allowed
+ */
+public class RepeatedStatementException extends IllegalStateException {
+    public RepeatedStatementException(int count, String shape) {
+        super("Statement ran " + count + " times in one request, possible N+1: " + shape);
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.TaskManager.querystats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC activity of the current request: statements, rows read, time spent in the driver,
+ * and how many times each statement shape ran. Bound to the request thread, work done on
+ * other threads (streamed exports, password hashing) is not counted.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private long queryStart;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the stats of the current request, or null outside of a request
+     */
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void beforeQuery() {
+        queryStart = System.nanoTime();
+    }
+
+    /**
+     * Counts one round trip: a JDBC batch is one statement, which is what batching is for
+     * @return how many times this shape has run in the request, this execution included
+     */
+    int afterQuery(String sql) {
+        jdbcNanos += System.nanoTime() - queryStart;
+        statements++;
+        return shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * Statement text with whitespace collapsed, IN lists reduced to one parameter and
+     * numeric literals replaced, so that the same query for another id has the same shape
+     */
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    }
+}
@@ -0,0 +1,57 @@
+package com.demo.TaskManager.querystats;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The slow-query ring buffer and the most expensive Hibernate queries, at /actuator/slowqueries.
+ * Per-query Hibernate figures are only collected when hibernate.generate_statistics is enabled.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private static final int TOP_QUERIES = 20;
+
+    private final SlowQueryLog slowQueryLog;
+    private final Statistics statistics;
+
+    public SlowQueriesEndpoint(SlowQueryLog slowQueryLog, EntityManagerFactory entityManagerFactory) {
+        this.slowQueryLog = slowQueryLog;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record HibernateQuery(String query, long executionCount, long executionRowCount,
+                                 long executionAvgTime, long executionMaxTime, long totalTime) {
+
+        static HibernateQuery of(String query, QueryStatistics statistics) {
+            return new HibernateQuery(query, statistics.getExecutionCount(), statistics.getExecutionRowCount(),
+                    statistics.getExecutionAvgTime(), statistics.getExecutionMaxTime(),
+                    statistics.getExecutionTotalTime());
+        }
+    }
+
+    public record SlowQueriesReport(long thresholdMillis, int capacity, long recorded,
+                                    List<SlowQueryLog.SlowQuery> slowQueries,
+                                    boolean statisticsEnabled, List<HibernateQuery> topQueriesByTotalTime) {
+    }
+
+    @ReadOperation
+    public SlowQueriesReport slowQueries() {
+        List<HibernateQuery> topQueries = Arrays.stream(statistics.getQueries())
+                .map(query -> HibernateQuery.of(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(HibernateQuery::totalTime).reversed())
+                .limit(TOP_QUERIES)
+                .toList();
+        return new SlowQueriesReport(slowQueryLog.getThresholdMillis(), slowQueryLog.getCapacity(),
+                slowQueryLog.getRecorded(), slowQueryLog.snapshot(),
+                statistics.isStatisticsEnabled(), topQueries);
+    }
+}
@@ -0,0 +1,69 @@
+package com.demo.TaskManager.querystats;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records statements slower than the threshold into the {@link SlowQueryLog}.
+ * The stack is only walked for slow statements, to find which service method ran them.
+ */
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String APPLICATION_PACKAGE = "com.demo.TaskManager.";
+    private static final String SERVICES_PACKAGE = APPLICATION_PACKAGE + "services.";
+    private static final String OWN_PACKAGE = SlowQueryListener.class.getPackageName() + ".";
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (!slowQueryLog.isSlow(elapsed) || queryInfoList.isEmpty()) {
+            return;
+        }
+        QueryInfo query = queryInfoList.get(0);
+        int bindCount = query.getParametersList().isEmpty() ? 0 : query.getParametersList().get(0).size();
+        String shape = RequestQueryStats.shape(query.getQuery());
+        String caller = caller();
+        slowQueryLog.record(new SlowQueryLog.SlowQuery(Instant.now(), elapsed, shape, bindCount,
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0, caller, Thread.currentThread().getName()));
+        log.warn("[QUERY] Slow statement ({} ms) from {}: {}", elapsed, caller, shape);
+    }
+
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> {
+            Optional<String> firstApplicationFrame = Optional.empty();
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                // Skips this package and the CGLIB proxies of Spring beans
+                if (!className.startsWith(APPLICATION_PACKAGE) || className.startsWith(OWN_PACKAGE)
+                        || className.contains("$$")) {
+                    continue;
+                }
+                String location = className.substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethodName();
+                if (className.startsWith(SERVICES_PACKAGE)) {
+                    return location;
+                }
+                if (firstApplicationFrame.isEmpty()) {
+                    firstApplicationFrame = Optional.of(location);
+                }
+            }
+            return firstApplicationFrame.orElse("unknown");
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.TaskManager.querystats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last {@code capacity} statements slower than the threshold, in a lock-free ring buffer:
+ * recording claims a slot with one increment and overwrites the oldest entry.
+ */
+public class SlowQueryLog {
+
+    /**
+     * @param shape the normalized statement, see {@link RequestQueryStats#shape}
+     * @param bindCount the number of bound parameters (of the first set, for batches)
+     * @param batchSize the number of parameter sets, 0 when not batched
+     * @param caller the service method that ran it, or the first application frame
+     */
+    public record SlowQuery(Instant timestamp, long durationMillis, String shape,
+                            int bindCount, int batchSize, String caller, String thread) {
+    }
+
+    private final AtomicReferenceArray<SlowQuery> entries;
+    private final AtomicLong recorded = new AtomicLong();
+    private final long thresholdMillis;
+
+    public SlowQueryLog(int capacity, Duration threshold) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    public boolean isSlow(long durationMillis) {
+        return durationMillis >= thresholdMillis;
+    }
+
+    public void record(SlowQuery query) {
+        long index = recorded.getAndIncrement();
+        entries.set((int) (index % entries.length()), query);
+    }
+
+    /**
+     * @return the retained entries, most recent first
+     */
+    public List<SlowQuery> snapshot() {
+        long last = recorded.get();
+        int count = (int) Math.min(last, entries.length());
+        List<SlowQuery> snapshot = new ArrayList<>(count);
+        for (long index = last - 1; index >= last - count; index--) {
+            SlowQuery query = entries.get((int) (index % entries.length()));
+            if (query != null) {
+                snapshot.add(query);
+            }
+        }
+        return snapshot;
+    }
+
+    public long getRecorded() {
+        return recorded.get();
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public int getCapacity() {
+        return entries.length();
+    }
+}
@@ -0,0 +1,134 @@
+package com.demo.TaskManager.ratelimit;
+
+import com.demo.TaskManager.admission.RequestPriority;
+import com.demo.TaskManager.common.ErrorResponse;
+import com.demo.TaskManager.security.JwtPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user and per-IP rate limiting, answering 429 with RateLimit-Limit, RateLimit-Remaining,
+ * RateLimit-Reset and Retry-After once a bucket is empty. Runs right after authentication:
+ * login and registration are limited by client IP, the API by authenticated user.
+ * Behind a proxy, the client IP is the one Tomcat resolves from X-Forwarded-For for trusted proxies
+ * (server.forward-headers-strategy), not the address of the proxy itself.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    private static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<RateLimitGroup, RateLimiter> limiters = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> rejections = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${tasks.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${tasks.rate-limit.max-clients:100000}") long maxClients,
+                           @Value("${tasks.rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${tasks.rate-limit.auth.period:PT1M}") Duration authPeriod,
+                           @Value("${tasks.rate-limit.read.capacity:100}") int readCapacity,
+                           @Value("${tasks.rate-limit.read.period:PT1S}") Duration readPeriod,
+                           @Value("${tasks.rate-limit.write.capacity:30}") int writeCapacity,
+                           @Value("${tasks.rate-limit.write.period:PT1S}") Duration writePeriod,
+                           @Value("${tasks.rate-limit.bulk.capacity:5}") int bulkCapacity,
+                           @Value("${tasks.rate-limit.bulk.period:PT1M}") Duration bulkPeriod) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        limiters.put(RateLimitGroup.AUTH, new RateLimiter(authCapacity, authPeriod, maxClients));
+        limiters.put(RateLimitGroup.READ, new RateLimiter(readCapacity, readPeriod, maxClients));
+        limiters.put(RateLimitGroup.WRITE, new RateLimiter(writeCapacity, writePeriod, maxClients));
+        limiters.put(RateLimitGroup.BULK, new RateLimiter(bulkCapacity, bulkPeriod, maxClients));
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            rejections.put(group, Counter.builder("tasks.rate-limit.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("group", group.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitGroup group;
+        String key;
+        if (isAuthentication(request)) {
+            group = RateLimitGroup.AUTH;
+            key = request.getRemoteAddr();
+        } else {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+                // Turned away by authorization anyway
+                filterChain.doFilter(request, response);
+                return;
+            }
+            group = RateLimitGroup.of(RequestPriority.of(request));
+            key = principal.userId().toString();
+        }
+
+        RateLimiter.Decision decision = limiters.get(group).tryConsume(key);
+        response.setHeader(RATE_LIMIT_LIMIT, String.valueOf(decision.limit()));
+        response.setHeader(RATE_LIMIT_REMAINING, String.valueOf(decision.remaining()));
+        response.setHeader(RATE_LIMIT_RESET, String.valueOf(toSeconds(decision.resetNanos())));
+        if (!decision.allowed()) {
+            rejections.get(group).increment();
+            log.debug("[RATE_LIMIT] Rejecting {} request of {} on {}", group, key, request.getRequestURI());
+            writeRejection(response, decision);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    private static boolean isAuthentication(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.equals("/auth/login") || path.equals("/auth/register");
+    }
+
+    /**
+     * Rounded up, so that a client waiting that long is never rejected again
+     */
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private void writeRejection(HttpServletResponse response, RateLimiter.Decision decision) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(decision.retryAfterNanos()))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), errorResponse);
+    }
+}
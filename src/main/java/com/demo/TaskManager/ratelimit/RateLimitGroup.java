@@ -0,0 +1,22 @@
+package com.demo.TaskManager.ratelimit;
+
+import com.demo.TaskManager.admission.RequestPriority;
+
+/**
+ * Route groups with their own buckets. Authentication endpoints are limited per client IP,
+ * everything else per authenticated user and by the same classes as admission control.
+ */
+public enum RateLimitGroup {
+    AUTH,
+    READ,
+    WRITE,
+    BULK;
+
+    public static RateLimitGroup of(RequestPriority priority) {
+        return switch (priority) {
+            case READ -> READ;
+            case WRITE -> WRITE;
+            case BULK -> BULK;
+        };
+    }
+}
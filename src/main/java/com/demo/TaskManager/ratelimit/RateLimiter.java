@@ -0,0 +1,71 @@
+package com.demo.TaskManager.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets of one route group, one per client key, implemented with GCRA: a bucket is
+ * a single {@link AtomicLong} holding the theoretical arrival time of the next request,
+ * so a check is one map lookup and one compare-and-set, without locks.
+ * Buckets live in a bounded Caffeine map (striped, lock-free reads) and are dropped once idle
+ * for longer than it takes them to refill, since a full bucket carries no state.
+ */
+public class RateLimiter {
+
+    /**
+     * Outcome of a check, with what the RateLimit-* headers need
+     * @param remaining requests still allowed right now
+     * @param resetNanos time until the bucket is full again
+     * @param retryAfterNanos time until the next request is allowed, 0 when allowed
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param capacity the burst size, which is also the number of requests allowed per period
+     * @param period the time it takes an empty bucket to refill
+     * @param maxClients the maximum number of buckets kept
+     */
+    public RateLimiter(int capacity, Duration period, long maxClients) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = period.toNanos() / capacity;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(period)
+                .build();
+    }
+
+    public Decision tryConsume(String key) {
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            // A new or refilled bucket starts from now
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = base + emissionIntervalNanos;
+            long backlog = next - now;
+            if (backlog > burstNanos) {
+                return new Decision(false, capacity, 0, base - now, backlog - burstNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Decision(true, capacity, (int) ((burstNanos - backlog) / emissionIntervalNanos), backlog, 0);
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -1,15 +1,194 @@
 package com.demo.TaskManager.repositories;
 
 import com.demo.TaskManager.entities.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    /**
+     * What the entity tag and the optimistic version check of a project are computed from
+     */
+    interface ProjectVersion {
+        LocalDateTime getUpdatedAt();
+        int getTotalTasks();
+        int getCompletedTasks();
+        long getVersion();
+    }
+
+    /**
+     * What the entity tag of a list of tasks of a project is computed from: any insert or delete
+     * moves the counters, and any update moves the last update timestamp
+     */
+    interface TaskListVersion {
+        int getTotalTasks();
+        int getCompletedTasks();
+        LocalDateTime getLastUpdatedAt();
+    }
+
+    /**
+     * What the entity tag of a page of projects is computed from: the digest covers the id,
+     * version and counters of every project of the page, so any write to one of them changes it
+     */
+    interface ProjectListVersion {
+        long getProjectCount();
+        LocalDateTime getLastUpdatedAt();
+        String getContentHash();
+    }
+
     List<Project> findByUserId(Long userId);
-    Optional<Project> findByIdAndUserId(Long id, Long userId);
-}
 
+    /**
+     * Loads the project by id, which is served by the second-level cache, then checks its owner
+     * from the foreign key held by the cached entry
+     */
+    default Optional<Project> findByIdAndUserId(Long id, Long userId) {
+        return findById(id).filter(project -> project.getUser().getId().equals(userId));
+    }
+
+    @Query("SELECT p.id FROM Project p WHERE p.user.id = :userId AND p.id IN :ids")
+    List<Long> findOwnedIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * First page of the projects of a user ordered by (created_at, id), read from the
+     * (user_id, created_at, id) index
+     */
+    @Query(value = "SELECT * FROM projects WHERE user_id = :userId ORDER BY created_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<Project> findFirstPageByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Next page of the projects of a user: the row-value comparison with the cursor lets the
+     * (user_id, created_at, id) index scan start right after it
+     */
+    @Query(value = "SELECT * FROM projects WHERE user_id = :userId " +
+                   "AND (created_at, id) > (:afterCreatedAt, :afterId) " +
+                   "ORDER BY created_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<Project> findNextPageByUserId(@Param("userId") Long userId,
+                                       @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                       @Param("afterId") Long afterId,
+                                       @Param("limit") int limit);
+
+    /**
+     * Version of the first page of projects of a user, read from the same index range as
+     * {@link #findFirstPageByUserId} but without building any entity
+     */
+    @Query(value = "SELECT COUNT(*) AS \"projectCount\", MAX(updated_at) AS \"lastUpdatedAt\", " +
+                   "MD5(STRING_AGG(id || ':' || version || ':' || total_tasks || ':' || completed_tasks, ',' " +
+                   "ORDER BY created_at, id)) AS \"contentHash\" " +
+                   "FROM (SELECT * FROM projects WHERE user_id = :userId ORDER BY created_at, id LIMIT :limit) page",
+           nativeQuery = true)
+    ProjectListVersion findFirstPageVersion(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Version of the page of projects of a user that follows the cursor, see {@link #findNextPageByUserId}
+     */
+    @Query(value = "SELECT COUNT(*) AS \"projectCount\", MAX(updated_at) AS \"lastUpdatedAt\", " +
+                   "MD5(STRING_AGG(id || ':' || version || ':' || total_tasks || ':' || completed_tasks, ',' " +
+                   "ORDER BY created_at, id)) AS \"contentHash\" " +
+                   "FROM (SELECT * FROM projects WHERE user_id = :userId " +
+                   "      AND (created_at, id) > (:afterCreatedAt, :afterId) " +
+                   "      ORDER BY created_at, id LIMIT :limit) page",
+           nativeQuery = true)
+    ProjectListVersion findNextPageVersion(@Param("userId") Long userId,
+                                           @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                           @Param("afterId") Long afterId,
+                                           @Param("limit") int limit);
+
+    /**
+     * Locks a project of the user, which also blocks concurrent task inserts into it
+     */
+    @Query(value = "SELECT id FROM projects WHERE id = :id AND user_id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Locks a project of the user and reads its version, for conditional updates
+     */
+    @Query(value = "SELECT updated_at AS \"updatedAt\", total_tasks AS \"totalTasks\", " +
+                   "completed_tasks AS \"completedTasks\", version " +
+                   "FROM projects WHERE id = :id AND user_id = :userId FOR UPDATE",
+           nativeQuery = true)
+    Optional<ProjectVersion> lockVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Reads the version of the tasks of a project of the user with two index lookups,
+     * the last update being served by the (project_id, updated_at) index
+     */
+    @Query(value = "SELECT p.total_tasks AS \"totalTasks\", p.completed_tasks AS \"completedTasks\", " +
+                   "(SELECT MAX(t.updated_at) FROM tasks t WHERE t.project_id = p.id) AS \"lastUpdatedAt\" " +
+                   "FROM projects p WHERE p.id = :id AND p.user_id = :userId",
+           nativeQuery = true)
+    Optional<TaskListVersion> findTaskListVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Atomically shifts the denormalized task counters of a project, without reading the row first.
+     * Like every native write, it declares the tables it touches so that Hibernate only drops
+     * the matching second-level region instead of the whole cache.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = "UPDATE projects SET total_tasks = total_tasks + :totalDelta, " +
+                   "completed_tasks = completed_tasks + :completedDelta WHERE id = :projectId",
+           nativeQuery = true)
+    int adjustTaskCounters(@Param("projectId") Long projectId,
+                           @Param("totalDelta") int totalDelta,
+                           @Param("completedDelta") int completedDelta);
+
+    @Query(value = "SELECT MAX(id) FROM (SELECT id FROM projects WHERE id > :afterId ORDER BY id LIMIT :batchSize) batch",
+           nativeQuery = true)
+    Long findBatchUpperBound(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
+
+    /**
+     * Locks a range of projects so that no counter increment can interleave with their reconciliation
+     */
+    @Query(value = "SELECT id FROM projects WHERE id > :afterId AND id <= :upToId ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockRange(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    /**
+     * Recomputes the task counters of a range of projects and rewrites only the rows that drifted
+     * @return the number of projects whose counters were corrected
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = "UPDATE projects p SET total_tasks = s.total_tasks, completed_tasks = s.completed_tasks " +
+                   "FROM (SELECT pr.id, COUNT(t.id) AS total_tasks, " +
+                   "             COUNT(t.id) FILTER (WHERE t.completed) AS completed_tasks " +
+                   "      FROM projects pr LEFT JOIN tasks t ON t.project_id = pr.id " +
+                   "      WHERE pr.id > :afterId AND pr.id <= :upToId GROUP BY pr.id) s " +
+                   "WHERE p.id = s.id " +
+                   "AND (p.total_tasks <> s.total_tasks OR p.completed_tasks <> s.completed_tasks)",
+           nativeQuery = true)
+    int reconcileTaskCounters(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    /**
+     * Fills in the task counters of the projects that still hold the column default while they have tasks,
+     * such as the projects created before the counters existed
+     * @return the number of projects whose counters were filled in
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = "UPDATE projects p " +
+                   "SET total_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id), " +
+                   "    completed_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.completed) " +
+                   "WHERE p.total_tasks = 0 AND EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = p.id)",
+           nativeQuery = true)
+    int backfillTaskCounters();
+}
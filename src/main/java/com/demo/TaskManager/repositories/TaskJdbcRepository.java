@@ -0,0 +1,281 @@
+package com.demo.TaskManager.repositories;
+
+import com.demo.TaskManager.dtos.TaskFilter;
+import com.demo.TaskManager.entities.Project;
+import com.demo.TaskManager.entities.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Set-based task writes that bypass the persistence context.
+ * Rows are written with JDBC batches, which the PostgreSQL driver rewrites into
+ * multi-row INSERTs when {@code reWriteBatchedInserts=true} is set on the URL.
+ * Callers are responsible for keeping the project counters in sync.
+ */
+@Repository
+public class TaskJdbcRepository {
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('tasks', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (id, title, description, due_date, completed, project_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String TASK_COLUMNS =
+            "SELECT id, title, description, due_date, completed, project_id, created_at, updated_at, version ";
+
+    private static final String LOCK_BY_IDS_SQL =
+            TASK_COLUMNS + "FROM tasks WHERE id = ANY (?) ORDER BY id FOR UPDATE";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tasks SET title = ?, description = ?, due_date = ?, completed = ?, updated_at = ?, " +
+            "version = version + 1 WHERE id = ?";
+
+    private static final String DELETE_BY_IDS_SQL = "DELETE FROM tasks WHERE id = ANY (?)";
+
+    private static final String DELETE_CHUNK_OF_PROJECT_SQL =
+            "WITH deleted AS (" +
+            "  DELETE FROM tasks WHERE id IN (SELECT id FROM tasks WHERE project_id = ? LIMIT ?) " +
+            "  RETURNING completed), " +
+            "counters AS (" +
+            "  UPDATE projects SET total_tasks = total_tasks - (SELECT COUNT(*) FROM deleted), " +
+            "  completed_tasks = completed_tasks - (SELECT COUNT(*) FROM deleted WHERE completed) " +
+            "  WHERE id = ?) " +
+            "SELECT COUNT(*) FROM deleted";
+
+    private static final String ADJUST_COUNTERS_SQL =
+            "UPDATE projects SET total_tasks = total_tasks + ?, completed_tasks = completed_tasks + ? WHERE id = ?";
+
+    private static final String EXPORT_COLUMNS =
+            "SELECT t.id, t.project_id, t.title, t.description, t.due_date, t.completed, t.created_at, t.updated_at ";
+
+    private static final String EXPORT_BY_PROJECT_SQL =
+            EXPORT_COLUMNS + "FROM tasks t WHERE t.project_id = ? ORDER BY t.id";
+
+    private static final String EXPORT_BY_USER_SQL =
+            EXPORT_COLUMNS + "FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "WHERE p.user_id = ? ORDER BY t.project_id, t.id";
+
+    private static final RowMapper<Task> TASK_ROW_MAPPER = (rs, rowNum) -> Task.builder()
+            .id(rs.getLong("id"))
+            .title(rs.getString("title"))
+            .description(rs.getString("description"))
+            .dueDate(rs.getObject("due_date", LocalDate.class))
+            .completed(rs.getBoolean("completed"))
+            .project(Project.builder().id(rs.getLong("project_id")).build())
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .version(rs.getLong("version"))
+            .build();
+
+    /**
+     * Change to apply to the counters of one project
+     */
+    public record CounterDelta(Long projectId, int total, int completed) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int exportFetchSize;
+
+    public TaskJdbcRepository(JdbcTemplate jdbcTemplate,
+                              @Value("${tasks.bulk.jdbc-batch-size:1000}") int batchSize,
+                              @Value("${tasks.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * Reserves ids from the sequence backing tasks.id in a single round trip,
+     * so that rows can be inserted in batches without fetching generated keys
+     * @param count the number of ids to reserve
+     * @return the reserved ids, in increasing order
+     */
+    public List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, count);
+    }
+
+    /**
+     * Keyset page of the tasks of a project ordered by (due_date, id).
+     * The statement only holds the filters that are set and, past the first page, a row-value
+     * comparison with the cursor: PostgreSQL turns it into an index range scan of
+     * (project_id, [completed,] due_date, id) that starts right after the cursor.
+     * An optional predicate such as {@code (? IS NULL OR ...)} would make it scan from the first row instead.
+     * @param afterDueDate the due date of the last row of the previous page, null for the first page
+     * @param afterId the id of the last row of the previous page, null for the first page
+     * @param limit the number of rows to read
+     * @return the tasks, whose project only carries its id
+     */
+    public List<Task> findPage(Long projectId, TaskFilter filter, LocalDate afterDueDate, Long afterId, int limit) {
+        boolean afterCursor = afterId != null;
+        List<Object> args = new ArrayList<>();
+        args.add(projectId);
+        if (filter.completed() != null) {
+            args.add(filter.completed());
+        }
+        if (filter.dueFrom() != null) {
+            args.add(filter.dueFrom());
+        }
+        if (filter.dueTo() != null) {
+            args.add(filter.dueTo());
+        }
+        if (afterCursor) {
+            args.add(afterDueDate);
+            args.add(afterId);
+        }
+        args.add(limit);
+        return jdbcTemplate.query(pageSql(filter, afterCursor), TASK_ROW_MAPPER, args.toArray());
+    }
+
+    static String pageSql(TaskFilter filter, boolean afterCursor) {
+        StringBuilder sql = new StringBuilder(TASK_COLUMNS).append("FROM tasks WHERE project_id = ?");
+        if (filter.completed() != null) {
+            sql.append(" AND completed = ?");
+        }
+        if (filter.dueFrom() != null) {
+            sql.append(" AND due_date >= ?");
+        }
+        if (filter.dueTo() != null) {
+            sql.append(" AND due_date <= ?");
+        }
+        if (afterCursor) {
+            sql.append(" AND (due_date, id) > (?, ?)");
+        }
+        return sql.append(" ORDER BY due_date, id LIMIT ?").toString();
+    }
+
+    /**
+     * Inserts tasks whose id, project and timestamps are already set, at version 0
+     * @param tasks the tasks to insert
+     */
+    public void insertAll(List<Task> tasks) {
+        tasks.forEach(task -> task.setVersion(0L));
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks, batchSize, (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setString(2, task.getTitle());
+            ps.setString(3, task.getDescription());
+            ps.setObject(4, task.getDueDate());
+            ps.setBoolean(5, task.isCompleted());
+            ps.setLong(6, task.getProject().getId());
+            ps.setObject(7, task.getCreatedAt());
+            ps.setObject(8, task.getUpdatedAt());
+            ps.setLong(9, task.getVersion());
+        });
+    }
+
+    /**
+     * Reads and row-locks tasks until the end of the transaction, in id order to avoid deadlocks
+     * @param ids the ids of the tasks
+     * @return the existing tasks, whose project only carries its id
+     */
+    public List<Task> lockByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOCK_BY_IDS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, TASK_ROW_MAPPER);
+    }
+
+    /**
+     * Writes back the title, description, due date, completion and update timestamp of tasks,
+     * moving their version forward by one
+     * @param tasks the tasks to write
+     */
+    public void updateAll(List<Task> tasks) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, tasks, batchSize, (ps, task) -> {
+            ps.setString(1, task.getTitle());
+            ps.setString(2, task.getDescription());
+            ps.setObject(3, task.getDueDate());
+            ps.setBoolean(4, task.isCompleted());
+            ps.setObject(5, task.getUpdatedAt());
+            ps.setLong(6, task.getId());
+        });
+    }
+
+    /**
+     * Deletes tasks with a single statement
+     * @param ids the ids of the tasks
+     * @return the number of deleted rows
+     */
+    public int deleteAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_BY_IDS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Deletes up to {@code chunkSize} tasks of a project and decrements its counters accordingly,
+     * in a single statement
+     * @return the number of deleted tasks, 0 once the project has no task left
+     */
+    public int deleteChunkOfProject(Long projectId, int chunkSize) {
+        Integer deleted = jdbcTemplate.queryForObject(DELETE_CHUNK_OF_PROJECT_SQL, Integer.class,
+                projectId, chunkSize, projectId);
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * Applies counter changes to several projects with one batch of atomic increments,
+     * in project id order to avoid deadlocks between concurrent batches
+     * @param deltas the changes, at most one per project
+     */
+    public void adjustCounters(List<CounterDelta> deltas) {
+        List<CounterDelta> ordered = deltas.stream()
+                .filter(delta -> delta.total() != 0 || delta.completed() != 0)
+                .sorted(Comparator.comparing(CounterDelta::projectId))
+                .toList();
+        jdbcTemplate.batchUpdate(ADJUST_COUNTERS_SQL, ordered, batchSize, (ps, delta) -> {
+            ps.setInt(1, delta.total());
+            ps.setInt(2, delta.completed());
+            ps.setLong(3, delta.projectId());
+        });
+    }
+
+    /**
+     * Streams the tasks of a project, ordered by id, through a forward-only cursor.
+     * Must run inside a transaction: the PostgreSQL driver only fetches by chunks of
+     * {@code tasks.export.fetch-size} rows when auto-commit is off.
+     */
+    public void forEachOfProject(Long projectId, RowCallbackHandler handler) {
+        stream(EXPORT_BY_PROJECT_SQL, projectId, handler);
+    }
+
+    /**
+     * Streams the tasks of every project of a user, ordered by project then id,
+     * with the same constraints as {@link #forEachOfProject}
+     */
+    public void forEachOfUser(Long userId, RowCallbackHandler handler) {
+        stream(EXPORT_BY_USER_SQL, userId, handler);
+    }
+
+    private void stream(String sql, Long id, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportFetchSize);
+            ps.setLong(1, id);
+            return ps;
+        }, handler);
+    }
+}
@@ -1,9 +1,17 @@
 package com.demo.TaskManager.repositories;
 
 import com.demo.TaskManager.entities.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +20,93 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProjectId(Long projectId);
     Optional<Task> findByIdAndProjectId(Long id, Long projectId);
     void deleteByIdAndProjectId(Long id, Long projectId);
-}
 
+    /**
+     * Set-based delete of every task of a project, without loading them nor going through cascades
+     */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId AND t.project.id = :projectId " +
+           "AND t.project.user.id = :userId")
+    Optional<Task> findOwnedTask(@Param("taskId") Long taskId,
+                                 @Param("projectId") Long projectId,
+                                 @Param("userId") Long userId);
+
+    /**
+     * Completes a pending task of a project owned by the user and bumps the project counter,
+     * in a single statement that also checks ownership. Completion commutes with any other edit,
+     * so it never checks the version of the task, it only moves it forward.
+     * @return the updated row, or empty if the task does not exist, is not owned by the user
+     *         or was already completed
+     */
+    @Query(value = "WITH completed AS (" +
+                   "  UPDATE tasks t SET completed = true, updated_at = :now, version = t.version + 1 FROM projects p " +
+                   "  WHERE t.id = :taskId AND t.project_id = :projectId " +
+                   "  AND p.id = t.project_id AND p.user_id = :userId AND t.completed = false " +
+                   "  RETURNING t.*), " +
+                   "counters AS (" +
+                   "  UPDATE projects SET completed_tasks = completed_tasks + 1 " +
+                   "  WHERE id IN (SELECT project_id FROM completed)) " +
+                   "SELECT * FROM completed",
+           nativeQuery = true)
+    Optional<Task> completeOwnedTask(@Param("taskId") Long taskId,
+                                     @Param("projectId") Long projectId,
+                                     @Param("userId") Long userId,
+                                     @Param("now") LocalDateTime now);
+
+    /**
+     * Updates a task of a project owned by the user in a single statement that also checks ownership
+     * and, when a version is given, that the task has not changed since the client read it
+     * @return the updated row, or empty if the task does not exist, is not owned by the user
+     *         or does not have the expected version
+     */
+    @Query(value = "UPDATE tasks t SET title = :title, description = :description, " +
+                   "due_date = :dueDate, updated_at = :now, version = t.version + 1 FROM projects p " +
+                   "WHERE t.id = :taskId AND t.project_id = :projectId " +
+                   "AND p.id = t.project_id AND p.user_id = :userId " +
+                   "AND (CAST(:version AS bigint) IS NULL OR t.version = CAST(:version AS bigint)) " +
+                   "RETURNING t.*",
+           nativeQuery = true)
+    Optional<Task> updateOwnedTask(@Param("taskId") Long taskId,
+                                   @Param("projectId") Long projectId,
+                                   @Param("userId") Long userId,
+                                   @Param("title") String title,
+                                   @Param("description") String description,
+                                   @Param("dueDate") LocalDate dueDate,
+                                   @Param("version") Long version,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * Locks a task of a project owned by the user and reads its last update, for conditional updates
+     */
+    @Query(value = "SELECT t.updated_at FROM tasks t JOIN projects p ON p.id = t.project_id " +
+                   "WHERE t.id = :taskId AND t.project_id = :projectId AND p.user_id = :userId " +
+                   "FOR UPDATE OF t",
+           nativeQuery = true)
+    Optional<LocalDateTime> lockOwnedTaskUpdatedAt(@Param("taskId") Long taskId,
+                                                   @Param("projectId") Long projectId,
+                                                   @Param("userId") Long userId);
+
+    /**
+     * Deletes a task of a project owned by the user and decrements the project counters,
+     * in a single statement that also checks ownership.
+     * Only tasks is declared to Hibernate: the counters of the project are evicted with its read model.
+     * @return 1 if the task was deleted, 0 if it does not exist or is not owned by the user
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "WITH deleted AS (" +
+                   "  DELETE FROM tasks t USING projects p " +
+                   "  WHERE t.id = :taskId AND t.project_id = :projectId " +
+                   "  AND p.id = t.project_id AND p.user_id = :userId " +
+                   "  RETURNING t.project_id, t.completed) " +
+                   "UPDATE projects SET total_tasks = total_tasks - 1, " +
+                   "completed_tasks = completed_tasks - CASE WHEN d.completed THEN 1 ELSE 0 END " +
+                   "FROM deleted d WHERE projects.id = d.project_id",
+           nativeQuery = true)
+    int deleteOwnedTask(@Param("taskId") Long taskId,
+                        @Param("projectId") Long projectId,
+                        @Param("userId") Long userId);
+}
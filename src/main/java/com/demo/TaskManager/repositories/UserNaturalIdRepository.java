@@ -0,0 +1,19 @@
+package com.demo.TaskManager.repositories;
+
+import com.demo.TaskManager.entities.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Lookups of users by their natural id, served by the second-level cache
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Runs in a transaction so that the session used for the lookup stays open,
+     * even when called from non transactional code such as authentication
+     */
+    @Transactional(readOnly = true)
+    Optional<User> findByEmail(String email);
+}
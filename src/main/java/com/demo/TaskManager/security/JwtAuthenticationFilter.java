@@ -1,7 +1,6 @@
 package com.demo.TaskManager.security;
 
 import com.demo.TaskManager.common.ErrorResponse;
-import com.demo.TaskManager.entities.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,19 +8,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @AllArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtTokenService;
+    private final ObjectMapper objectMapper;
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -32,29 +33,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                if (jwtTokenService.validateToken(token)) {
-                    String email = jwtTokenService.getUserFromToken(token);
-                    Long userId = jwtTokenService.getUserIdFromToken(token);
-                    User userEntity = new User();
-                    userEntity.setId(userId);
-                    userEntity.setEmail(email);
-
-                    SecurityUser userDetails = new SecurityUser(userEntity);
-
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
-
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    writeErrorResponse(response,
-                            HttpStatus.UNAUTHORIZED,
-                            "Invalid or expired JWT token");
-                    return;
-                }
+                // Single verified parse of the token, served from the verified-token cache when possible.
+                // The cached principal is used as is: no entity, no UserDetails, no request details
+                JwtPrincipal principal = jwtTokenService.verify(token);
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of()));
             } catch (Exception ex) {
                 writeErrorResponse(response,
                         HttpStatus.FORBIDDEN,
@@ -75,10 +58,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         ErrorResponse errorResponse = new ErrorResponse(status, message);
 
         response.setStatus(status.value());
-        response.setContentType("application/json");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setCharacterEncoding("UTF-8");
-
-        ObjectMapper mapper = new ObjectMapper();
-        response.getWriter().write(mapper.writeValueAsString(errorResponse));
+        objectMapper.writeValue(response.getWriter(), errorResponse);
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.demo.TaskManager.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Claims of a verified JWT, extracted once per token. Immutable and shared by every request
+ * carrying the same token, it is the principal that {@code @AuthenticationPrincipal} resolves.
+ * @param userId the id of the authenticated user
+ * @param email the subject of the token
+ * @param expiresAt the expiry of the token
+ */
+public record JwtPrincipal(Long userId, String email, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,8 +1,6 @@
 package com.demo.TaskManager.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.demo.TaskManager.jfr.JwtVerificationEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -11,11 +9,15 @@ import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Collection;
-
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,10 +27,15 @@ public class JwtService {
     private final long jwtExpirationInMs = 3600000;
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
+    private final int verifiedTokensMaxSize;
+    private final Map<String, JwtPrincipal> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
 
-    public JwtService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder) {
+    public JwtService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder,
+                      @Value("${jwt.cache.max-size:10000}") int verifiedTokensMaxSize) {
         this.jwtEncoder = jwtEncoder;
         this.jwtDecoder = jwtDecoder;
+        this.verifiedTokensMaxSize = verifiedTokensMaxSize;
     }
 
     public String generateToken(Authentication authentication) {
@@ -51,23 +58,86 @@ public class JwtService {
         return this.jwtEncoder.encode(jwtEncoderParameters).getTokenValue();
     }
 
-    public String getUserFromToken(String token) {
-        Jwt jwtToken = jwtDecoder.decode(token);
-        return jwtToken.getSubject();
+    /**
+     * Verifies the signature and the expiry of a token and extracts its claims with a single decode.
+     * Verified tokens are kept in a bounded cache, keyed by the SHA-256 of the token,
+     * so that the next requests carrying the same token skip the HMAC check until it expires.
+     * @param token the JWT (without the "Bearer " prefix)
+     * @return the principal carried by the token
+     * @throws BadJwtException if the token is malformed, forged or expired
+     */
+    public JwtPrincipal verify(String token) {
+        Instant now = Instant.now();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String key = cacheKey(token);
+
+        JwtPrincipal cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                commit(event, cached, true);
+                return cached;
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        JwtPrincipal principal = decode(token);
+        cache(key, principal, now);
+        commit(event, principal, false);
+        return principal;
     }
-    public Long getUserIdFromToken(String token) {
-        Jwt jwtToken = jwtDecoder.decode(token);
-        return jwtToken.getClaim("userId");
+
+    private static void commit(JwtVerificationEvent event, JwtPrincipal principal, boolean cached) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cached = cached;
+            event.userId = principal.userId() != null ? principal.userId() : 0;
+            event.commit();
+        }
     }
 
-    public boolean validateToken(String token) {
+    private JwtPrincipal decode(String token) {
         try {
-            jwtDecoder.decode(token);
-            return true;
+            Jwt jwt = jwtDecoder.decode(token);
+            return new JwtPrincipal(jwt.getClaim("userId"), jwt.getSubject(), jwt.getExpiresAt());
         } catch (Exception exception) {
             log.error("[USER] : Error while trying to validate token", exception);
             throw new BadJwtException("Error while trying to validate token");
         }
     }
-}
 
+    private void cache(String key, JwtPrincipal principal, Instant now) {
+        if (principal.expiresAt() == null || principal.isExpired(now)) {
+            return;
+        }
+        if (verifiedTokens.size() >= verifiedTokensMaxSize) {
+            purgeExpiredTokens(now);
+            if (verifiedTokens.size() >= verifiedTokensMaxSize) {
+                // Still full of live tokens: the next requests with this token will just verify it again
+                return;
+            }
+        }
+        verifiedTokens.put(key, principal);
+    }
+
+    /**
+     * Drops expired entries, at most once per second so that a full cache does not turn every miss into a scan
+     */
+    private void purgeExpiredTokens(Instant now) {
+        long last = lastPurge.get();
+        if (now.toEpochMilli() - last < 1000 || !lastPurge.compareAndSet(last, now.toEpochMilli())) {
+            return;
+        }
+        verifiedTokens.values().removeIf(principal -> principal.isExpired(now));
+        log.debug("[USER] : Verified token cache purged, {} entries left", verifiedTokens.size());
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
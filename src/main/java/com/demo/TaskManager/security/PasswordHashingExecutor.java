@@ -0,0 +1,82 @@
+package com.demo.TaskManager.security;
+
+import com.demo.TaskManager.common.exceptions.ServiceOverloadedException;
+import com.demo.TaskManager.jfr.PasswordHashingEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool, so that a burst of logins
+ * uses at most {@code threads} cores and leaves the rest to the other requests.
+ * When the queue is full, callers are turned away right away instead of queueing behind it.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${tasks.security.hashing.threads:0}") int threads,
+                                   @Value("${tasks.security.hashing.queue-capacity:200}") int queueCapacity) {
+        // 0 = half of the cores
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        log.info("[AUTH] Password hashing pool started with {} threads (queue: {})", poolSize, queueCapacity);
+    }
+
+    /**
+     * @param operation what the task does, for the {@link PasswordHashingEvent}
+     * @throws ServiceOverloadedException if too many hashing tasks are already waiting
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> run(operation, submitted, task), executor);
+        } catch (RejectedExecutionException ex) {
+            log.warn("[AUTH] Password hashing queue is full ({} waiting)", executor.getQueue().size());
+            throw new ServiceOverloadedException("Too many authentication requests, please retry later");
+        }
+    }
+
+    private static <T> T run(String operation, long submitted, Supplier<T> task) {
+        long queueTime = System.nanoTime() - submitted;
+        PasswordHashingEvent event = new PasswordHashingEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            T result = task.get();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.succeeded = succeeded;
+                event.queueTime = queueTime;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,18 +1,25 @@
 package com.demo.TaskManager.security;
 
+import com.demo.TaskManager.cache.CacheInvalidationPublisher;
+import com.demo.TaskManager.config.CacheConfig;
 import com.demo.TaskManager.entities.User;
 import com.demo.TaskManager.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -23,5 +30,25 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .user(user)
                 .build();
     }
+
+    /**
+     * Called on a successful login when the stored hash is outdated (algorithm or cost),
+     * with the password hashed again with the current settings.
+     * The other nodes drop their cached copy of the user when the transaction commits.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        Long userId = ((SecurityUser) userDetails).getUserId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id " + userId));
+        user.setPassword(newPassword);
+        cacheInvalidationPublisher.publishEvict(CacheConfig.USERS, userId);
+        log.info("[AUTH] Password hash of user {} upgraded", userId);
+
+        return SecurityUser.builder()
+                .user(userRepository.save(user))
+                .build();
+    }
 }
 
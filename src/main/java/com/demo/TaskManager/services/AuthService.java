@@ -1,27 +1,31 @@
 package com.demo.TaskManager.services;
 
-import com.demo.TaskManager.common.exceptions.BadRequestException;
 import com.demo.TaskManager.common.exceptions.EmailAlreadyExistsException;
 import com.demo.TaskManager.common.exceptions.UserNotFoundException;
 import com.demo.TaskManager.dtos.LoginRequest;
 import com.demo.TaskManager.dtos.RegisterRequest;
 import com.demo.TaskManager.dtos.UserInfoResponse;
 import com.demo.TaskManager.security.JwtService;
+import com.demo.TaskManager.security.PasswordHashingExecutor;
+import com.demo.TaskManager.security.SecurityUser;
 import com.demo.TaskManager.entities.User;
 import com.demo.TaskManager.repositories.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.demo.TaskManager.mappers.AuthMapper;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
@@ -29,52 +33,104 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService tokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final Executor applicationTaskExecutor;
+
+    /**
+     * @param applicationTaskExecutor runs what follows a hash, such as saving the user, so that the
+     *                                hashing threads never wait on the database
+     */
+    public AuthService(UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       AuthenticationManager authenticationManager,
+                       JwtService tokenService,
+                       PasswordHashingExecutor passwordHashingExecutor,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                       Executor applicationTaskExecutor) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
 
-    @Transactional
-    public String registerUser(RegisterRequest dto) {
+    /**
+     * Inscrit un utilisateur et lui délivre directement un token, sans repasser par l'authentification :
+     * le mot de passe n'est haché qu'une fois, sur le pool de hachage ; l'enregistrement et le token
+     * sont faits ensuite sur l'exécuteur de l'application, pour ne pas bloquer le pool sur la base
+     * @param dto les informations de l'utilisateur
+     * @return le token JWT, une fois l'utilisateur enregistré
+     * @throws EmailAlreadyExistsException si l'email est déjà utilisé
+     */
+    public CompletableFuture<String> registerUser(RegisterRequest dto) {
         log.info("[AUTH] Registration attempt for email: {}", dto.email());
 
-        // Vérifier si l'email existe déjà
-        if (userRepository.findByEmail(dto.email()).isPresent()) {
+        // Vérifier si l'email existe déjà, avant de payer le hachage
+        if (userRepository.existsByEmail(dto.email())) {
             log.warn("[AUTH] Registration failed: Email already exists: {}", dto.email());
             throw new EmailAlreadyExistsException("Email déjà utilisé");
         }
 
-        User user = AuthMapper.fromDTO(dto);
-        user.setPassword(passwordEncoder.encode(dto.password()));
-        userRepository.save(user);
-
-        log.info("[AUTH] User registered successfully: id={}, email={}, name={}",
-            user.getId(), user.getEmail(), user.getName());
-
-        String token = login(AuthMapper.fromDto(dto));
-        log.info("[AUTH] User auto-logged in after registration: {}", dto.email());
+        return passwordHashingExecutor.submit("encode", () -> passwordEncoder.encode(dto.password()))
+                .thenApplyAsync(encodedPassword -> {
+                    User user = AuthMapper.fromDTO(dto);
+                    user.setPassword(encodedPassword);
+                    save(user);
+
+                    log.info("[AUTH] User registered successfully: id={}, email={}, name={}",
+                        user.getId(), user.getEmail(), user.getName());
+
+                    SecurityUser securityUser = new SecurityUser(user);
+                    String token = tokenService.generateToken(UsernamePasswordAuthenticationToken.authenticated(
+                            securityUser, null, securityUser.getAuthorities()));
+                    log.info("[AUTH] Token issued after registration: {}", dto.email());
+                    return token;
+                }, applicationTaskExecutor);
+    }
 
-        return token;
+    /**
+     * L'email a pu être pris pendant le hachage : la contrainte d'unicité tranche entre deux inscriptions simultanées
+     * @throws EmailAlreadyExistsException si l'email est déjà utilisé
+     */
+    private void save(User user) {
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (userRepository.existsByEmail(user.getEmail())) {
+                log.warn("[AUTH] Registration failed: Email registered concurrently: {}", user.getEmail());
+                throw new EmailAlreadyExistsException("Email déjà utilisé");
+            }
+            throw ex;
+        }
     }
 
     /**
-     * Authentifie un utilisateur et génère un token JWT
+     * Authentifie un utilisateur et génère un token JWT.
+     * La vérification du mot de passe (et sa mise à niveau si le hachage est obsolète)
+     * tourne sur le pool de hachage.
      * @param loginRequest les credentials de l'utilisateur
-     * @return le token JWT
-     * @throws BadCredentialsException si les credentials sont invalides
+     * @return le token JWT, une fois l'utilisateur authentifié
+     * @throws BadCredentialsException (dans le futur) si les credentials sont invalides
      */
-    public String login(LoginRequest loginRequest) {
+    public CompletableFuture<String> login(LoginRequest loginRequest) {
         log.info("[AUTH] Login attempt for email: {}", loginRequest.email());
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.email(),
-                        loginRequest.password()
-                )
-        );
+        return passwordHashingExecutor.submit("verify", () -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.email(),
+                            loginRequest.password()
+                    )
+            );
 
-        log.info("[AUTH] User authenticated successfully: {}", authentication.getName());
+            log.info("[AUTH] User authenticated successfully: {}", authentication.getName());
 
-        String token = tokenService.generateToken(authentication);
-        log.debug("[AUTH] JWT token generated for user: {}", authentication.getName());
+            String token = tokenService.generateToken(authentication);
+            log.debug("[AUTH] JWT token generated for user: {}", authentication.getName());
 
-        return token;
+            return token;
+        });
     }
 
     /**
@@ -85,14 +141,8 @@ public class AuthService {
     public UserInfoResponse getCurrentUserInfo(String token) {
         log.debug("[AUTH] Fetching current user info from token");
 
-        // Valider le token
-        if (!tokenService.validateToken(token)) {
-            log.warn("[AUTH] Invalid JWT token provided");
-            throw new BadRequestException("Token JWT invalide");
-        }
-
-        // Extraire l'ID utilisateur du token
-        Long userId = tokenService.getUserIdFromToken(token);
+        // Valider le token et extraire l'ID utilisateur en un seul décodage
+        Long userId = tokenService.verify(token).userId();
         log.debug("[AUTH] User ID extracted from token: {}", userId);
 
         // Récupérer l'utilisateur complet depuis la base de données
@@ -0,0 +1,58 @@
+package com.demo.TaskManager.services;
+
+import com.demo.TaskManager.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts cached project read models. Writes call it inside their transaction: the evictions
+ * are applied locally after commit, and sent to the other nodes with the single notification
+ * of that transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evicts the project, its progress and the first page of projects of its owner
+     */
+    public void evictProjects(Long userId, Collection<Long> projectIds) {
+        for (Long projectId : projectIds) {
+            String key = CacheConfig.projectKey(userId, projectId);
+            cache(CacheConfig.PROJECTS).evict(key);
+            cache(CacheConfig.PROJECT_PROGRESS).evict(key);
+        }
+        cache(CacheConfig.USER_PROJECTS).evict(CacheConfig.userKey(userId));
+    }
+
+    /**
+     * Evicts the first page of projects of a user, for writes that only change the listing
+     */
+    public void evictUserProjects(Long userId) {
+        cache(CacheConfig.USER_PROJECTS).evict(CacheConfig.userKey(userId));
+    }
+
+    /**
+     * Drops every cached project, for writes that do not know which owners they affect
+     */
+    public void clearAll() {
+        log.debug("[CACHE] Clearing all project caches");
+        CacheConfig.PROJECT_CACHES.forEach(name -> cache(name).clear());
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,99 @@
+package com.demo.TaskManager.services;
+
+import com.demo.TaskManager.repositories.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically repairs drift between the denormalized counters of the projects
+ * and the actual content of the tasks table.
+ * Projects are walked by id in bounded batches, each batch in its own short transaction.
+ * On startup, before the web server accepts requests, the counters still at their column default
+ * are filled in once, so that projects created before the counters existed never show 0 tasks.
+ */
+@Slf4j
+@Component
+public class ProjectCounterReconciler implements SmartInitializingSingleton {
+
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectCacheEvictor projectCacheEvictor;
+    private final int batchSize;
+    private final boolean backfillOnStartup;
+
+    public ProjectCounterReconciler(ProjectRepository projectRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    ProjectCacheEvictor projectCacheEvictor,
+                                    @Value("${tasks.counters.reconcile-batch-size:500}") int batchSize,
+                                    @Value("${tasks.counters.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.projectCacheEvictor = projectCacheEvictor;
+        this.batchSize = batchSize;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Runs once every singleton is created, hence before the web server starts
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Fills in the counters of the projects that have tasks but still count none
+     * @return the number of projects filled in
+     */
+    public int backfill() {
+        Integer filled = transactionTemplate.execute(status -> projectRepository.backfillTaskCounters());
+        if (filled != null && filled > 0) {
+            projectCacheEvictor.clearAll();
+            log.warn("[COUNTERS] Backfilled the task counters of {} projects", filled);
+            return filled;
+        }
+        log.info("[COUNTERS] No project counters to backfill");
+        return 0;
+    }
+
+    @Scheduled(initialDelayString = "${tasks.counters.reconcile-initial-delay:PT5M}",
+               fixedDelayString = "${tasks.counters.reconcile-interval:PT1H}")
+    public void reconcile() {
+        log.info("[COUNTERS] Starting project counter reconciliation (batch size: {})", batchSize);
+
+        long afterId = 0;
+        int batches = 0;
+        int repaired = 0;
+        Long upToId;
+        while ((upToId = projectRepository.findBatchUpperBound(afterId, batchSize)) != null) {
+            repaired += reconcileBatch(afterId, upToId);
+            afterId = upToId;
+            batches++;
+        }
+
+        if (repaired > 0) {
+            // The repaired projects are not known by owner, and drift is rare enough to drop everything
+            projectCacheEvictor.clearAll();
+            log.warn("[COUNTERS] Reconciliation repaired {} drifted projects in {} batches", repaired, batches);
+        } else {
+            log.info("[COUNTERS] Reconciliation done, no drift found in {} batches", batches);
+        }
+    }
+
+    private int reconcileBatch(long afterId, long upToId) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            projectRepository.lockRange(afterId, upToId);
+            return projectRepository.reconcileTaskCounters(afterId, upToId);
+        });
+        if (repaired != null && repaired > 0) {
+            log.debug("[COUNTERS] Repaired {} projects with id in ({}, {}]", repaired, afterId, upToId);
+        }
+        return repaired != null ? repaired : 0;
+    }
+}
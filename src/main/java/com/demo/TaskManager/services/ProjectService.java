@@ -1,7 +1,13 @@
 package com.demo.TaskManager.services;
 
+import com.demo.TaskManager.common.ETags;
+import com.demo.TaskManager.common.KeysetCursor;
+import com.demo.TaskManager.common.exceptions.PreconditionFailedException;
 import com.demo.TaskManager.common.exceptions.ProjectNotFoundException;
 import com.demo.TaskManager.common.exceptions.UserNotFoundException;
+import com.demo.TaskManager.common.exceptions.VersionConflictException;
+import com.demo.TaskManager.config.CacheConfig;
+import com.demo.TaskManager.dtos.PageResponse;
 import com.demo.TaskManager.dtos.ProjectProgressResponse;
 import com.demo.TaskManager.dtos.ProjectRequest;
 import com.demo.TaskManager.dtos.ProjectResponse;
@@ -9,14 +15,19 @@ import com.demo.TaskManager.entities.Project;
 import com.demo.TaskManager.entities.User;
 import com.demo.TaskManager.mappers.ProjectMapper;
 import com.demo.TaskManager.repositories.ProjectRepository;
+import com.demo.TaskManager.repositories.TaskJdbcRepository;
+import com.demo.TaskManager.repositories.TaskRepository;
 import com.demo.TaskManager.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,6 +36,16 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectCacheEvictor projectCacheEvictor;
+
+    @Value("${tasks.delete.chunk-size:10000}")
+    private int deleteChunkSize;
+
+    @Value("${tasks.optimistic-lock.max-retries:3}")
+    private int optimisticLockMaxRetries;
 
     @Transactional
     public ProjectResponse createProject(ProjectRequest request, Long userId) {
@@ -39,24 +60,55 @@ public class ProjectService {
         Project project = ProjectMapper.fromRequest(request, user);
 
         Project savedProject = projectRepository.save(project);
+        projectCacheEvictor.evictUserProjects(userId);
         log.info("[PROJECT] Project created successfully with id: {} for user: {}",
             savedProject.getId(), userId);
 
         return ProjectMapper.toResponse(savedProject);
     }
 
+    /**
+     * Only the first page with the default size is cached: it is what dashboards poll,
+     * and it can be evicted by user id alone
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_PROJECTS, key = CacheConfig.USER_KEY,
+               condition = "#cursor == null && #limit == T(com.demo.TaskManager.dtos.PageResponse).DEFAULT_PAGE_SIZE")
     @Transactional(readOnly = true)
-    public List<ProjectResponse> getUserProjects(Long userId) {
-        log.info("[PROJECT] Fetching all projects for user with id: {}", userId);
+    public PageResponse<ProjectResponse> getUserProjects(Long userId, String cursor, int limit) {
+        log.info("[PROJECT] Fetching projects page for user with id: {} (limit: {})", userId, limit);
+
+        int pageSize = PageResponse.checkPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        List<Project> projects = projectRepository.findByUserId(userId);
-        log.info("[PROJECT] Found {} projects for user with id: {}", projects.size(), userId);
+        List<Project> projects = after == null
+                ? projectRepository.findFirstPageByUserId(userId, pageSize + 1)
+                : projectRepository.findNextPageByUserId(userId, after.sortKeyAsDateTime(), after.id(), pageSize + 1);
+
+        PageResponse<ProjectResponse> page = PageResponse.of(projects, pageSize, ProjectMapper::toResponse,
+                project -> KeysetCursor.of(project.getCreatedAt(), project.getId()));
+        log.info("[PROJECT] Returning {} projects for user with id: {} (has more: {})",
+            page.getItems().size(), userId, page.isHasMore());
+
+        return page;
+    }
 
-        return projects.stream()
-                .map(ProjectMapper::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Computes the entity tag of a page of projects without loading it, from one aggregate
+     * over the same index range as the page itself
+     */
+    @Transactional(readOnly = true)
+    public String getUserProjectsETag(Long userId, String cursor, int limit) {
+        int pageSize = PageResponse.checkPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        ProjectRepository.ProjectListVersion version = after == null
+                ? projectRepository.findFirstPageVersion(userId, pageSize + 1)
+                : projectRepository.findNextPageVersion(userId, after.sortKeyAsDateTime(), after.id(), pageSize + 1);
+        return ETags.weak("projects", userId, cursor, pageSize, version.getProjectCount(),
+                version.getLastUpdatedAt(), version.getContentHash());
     }
 
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, key = CacheConfig.PROJECT_KEY)
     @Transactional(readOnly = true)
     public ProjectResponse getProjectById(Long projectId, Long userId) {
         log.info("[PROJECT] Fetching project with id: {} for user: {}", projectId, userId);
@@ -71,43 +123,108 @@ public class ProjectService {
         return ProjectMapper.toResponse(project);
     }
 
-    @Transactional
-    public ProjectResponse updateProject(Long projectId, ProjectRequest request, Long userId) {
+    /**
+     * Updates the title and description of a project. When the optimistic lock fails because
+     * another write got in first, the update is retried up to {@code tasks.optimistic-lock.max-retries}
+     * times: the client preconditions, if any, are checked again on each attempt, so a retry
+     * never overwrites a change the client did not see.
+     * @param ifMatch the If-Match header, or null for an unconditional update
+     * @throws PreconditionFailedException if the project changed since the client read it
+     * @throws VersionConflictException if the request carries a version and the project is no longer at it
+     */
+    public ProjectResponse updateProject(Long projectId, ProjectRequest request, Long userId, String ifMatch) {
         log.info("[PROJECT] Updating project with id: {} for user: {}", projectId, userId);
 
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(projectId, request, userId, ifMatch));
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt > optimisticLockMaxRetries) {
+                    log.warn("[PROJECT] Giving up updating project {} after {} attempts", projectId, attempt);
+                    throw ex;
+                }
+                log.info("[PROJECT] Project {} was updated concurrently, retrying (attempt {})", projectId, attempt + 1);
+                // The stale copy may come from the second-level cache
+                projectCacheEvictor.evictProjects(userId, List.of(projectId));
+            }
+        }
+    }
+
+    private ProjectResponse applyUpdate(Long projectId, ProjectRequest request, Long userId, String ifMatch) {
+        if (ifMatch != null || request.getVersion() != null) {
+            // The row stays locked until commit, so nobody can slip a change in after the check
+            ProjectRepository.ProjectVersion version = projectRepository.lockVersion(projectId, userId)
+                    .orElseThrow(() -> projectNotFound(projectId, userId));
+            String currentETag = ProjectMapper.toETag(projectId, version.getUpdatedAt(),
+                    version.getTotalTasks(), version.getCompletedTasks());
+            if (ifMatch != null && !ETags.matches(ifMatch, currentETag)) {
+                log.warn("[PROJECT] Project {} was modified since {} (current: {})", projectId, ifMatch, currentETag);
+                throw new PreconditionFailedException("Project has been modified: " + projectId);
+            }
+            if (request.getVersion() != null && request.getVersion() != version.getVersion()) {
+                log.warn("[PROJECT] Project {} is at version {}, client sent {}",
+                    projectId, version.getVersion(), request.getVersion());
+                throw new VersionConflictException("Project has been modified: " + projectId);
+            }
+        }
+
         Project project = projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> {
-                    log.warn("[PROJECT] Project not found with id: {} for user: {}", projectId, userId);
-                    return new ProjectNotFoundException("Project not found with id: " + projectId);
-                });
+                .orElseThrow(() -> projectNotFound(projectId, userId));
 
         String oldTitle = project.getTitle();
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
 
-        Project updatedProject = projectRepository.save(project);
+        // Flushed so that the response, and its entity tag, carry the new update timestamp
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        projectCacheEvictor.evictProjects(userId, List.of(projectId));
         log.info("[PROJECT] Project updated successfully: id={}, old title='{}', new title='{}'",
             projectId, oldTitle, updatedProject.getTitle());
 
         return ProjectMapper.toResponse(updatedProject);
     }
 
-    @Transactional
+    /**
+     * Deletes a project and its tasks with set-based statements, never loading the tasks.
+     * Projects with more than {@code tasks.delete.chunk-size} tasks are emptied in chunks,
+     * each in its own short transaction, before the project row itself is deleted.
+     */
     public void deleteProject(Long projectId, Long userId) {
         log.info("[PROJECT] Deleting project with id: {} for user: {}", projectId, userId);
 
         Project project = projectRepository.findByIdAndUserId(projectId, userId)
-                .orElseThrow(() -> {
-                    log.warn("[PROJECT] Project not found with id: {} for user: {}", projectId, userId);
-                    return new ProjectNotFoundException("Project not found with id: " + projectId);
-                });
+                .orElseThrow(() -> projectNotFound(projectId, userId));
 
         int taskCount = project.getTotalTasks();
-        projectRepository.delete(project);
+        if (taskCount > deleteChunkSize) {
+            int deleted;
+            int chunks = 0;
+            do {
+                deleted = transactionTemplate.execute(status ->
+                        taskJdbcRepository.deleteChunkOfProject(projectId, deleteChunkSize));
+                chunks++;
+            } while (deleted > 0);
+            log.info("[PROJECT] Tasks of project {} deleted in {} chunks", projectId, chunks);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.lockOwned(projectId, userId)
+                    .orElseThrow(() -> projectNotFound(projectId, userId));
+            taskRepository.deleteAllByProjectId(projectId);
+            projectRepository.deleteOwned(projectId, userId);
+            projectCacheEvictor.evictProjects(userId, List.of(projectId));
+        });
+
         log.info("[PROJECT] Project deleted successfully: id={}, title='{}', tasks deleted: {}",
             projectId, project.getTitle(), taskCount);
     }
 
+    private ProjectNotFoundException projectNotFound(Long projectId, Long userId) {
+        log.warn("[PROJECT] Project not found with id: {} for user: {}", projectId, userId);
+        return new ProjectNotFoundException("Project not found with id: " + projectId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROJECT_PROGRESS, key = CacheConfig.PROJECT_KEY)
     @Transactional(readOnly = true)
     public ProjectProgressResponse getProjectProgress(Long projectId, Long userId) {
         log.info("[PROJECT] Fetching progress for project with id: {} for user: {}", projectId, userId);
@@ -0,0 +1,213 @@
+package com.demo.TaskManager.services;
+
+import com.demo.TaskManager.dtos.TaskBatchResponse;
+import com.demo.TaskManager.dtos.TaskOperation;
+import com.demo.TaskManager.dtos.TaskOperationResult;
+import com.demo.TaskManager.dtos.TaskOperationType;
+import com.demo.TaskManager.dtos.TaskRequest;
+import com.demo.TaskManager.entities.Project;
+import com.demo.TaskManager.entities.Task;
+import com.demo.TaskManager.mappers.TaskMapper;
+import com.demo.TaskManager.repositories.ProjectRepository;
+import com.demo.TaskManager.repositories.TaskJdbcRepository;
+import com.demo.TaskManager.repositories.TaskJdbcRepository.CounterDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies an ordered list of task operations, possibly spanning several projects of the caller,
+ * in a single transaction.
+ * Ownership of every referenced project is checked with one query and every referenced task
+ * is read and locked with another. The operations are then replayed in order on that snapshot
+ * and the net result is written with one batched statement per kind of write.
+ * An operation that cannot be applied is reported in its result and does not abort the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final ProjectCacheEvictor projectCacheEvictor;
+
+    @Transactional
+    public TaskBatchResponse applyOperations(List<TaskOperation> operations, Long userId) {
+        log.info("[TASK] Applying batch of {} operations (user: {})", operations.size(), userId);
+
+        Set<Long> projectIds = operations.stream()
+                .map(TaskOperation::getProjectId)
+                .collect(Collectors.toSet());
+        Set<Long> ownedProjectIds = new HashSet<>(projectRepository.findOwnedIds(userId, projectIds));
+
+        Set<Long> taskIds = operations.stream()
+                .filter(operation -> ownedProjectIds.contains(operation.getProjectId()))
+                .map(TaskOperation::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskJdbcRepository.lockByIds(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        // Versions as locked, which is what clients compare against even if the batch updates a task twice
+        Map<Long, Long> lockedVersions = tasks.values().stream()
+                .collect(Collectors.toMap(Task::getId, Task::getVersion));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskOperationResult> results = new ArrayList<>(operations.size());
+        Map<Integer, Task> created = new LinkedHashMap<>();
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        Map<Long, int[]> counterDeltas = new HashMap<>();
+
+        for (int index = 0; index < operations.size(); index++) {
+            TaskOperation operation = operations.get(index);
+            TaskOperationResult.TaskOperationResultBuilder result = TaskOperationResult.builder()
+                    .index(index)
+                    .type(operation.getType());
+
+            if (!ownedProjectIds.contains(operation.getProjectId())) {
+                results.add(result.status(TaskOperationResult.Status.NOT_FOUND)
+                        .error("Project not found with id: " + operation.getProjectId())
+                        .build());
+                continue;
+            }
+
+            String invalid = checkOperation(operation);
+            if (invalid != null) {
+                results.add(result.status(TaskOperationResult.Status.INVALID).error(invalid).build());
+                continue;
+            }
+
+            if (operation.getType() == TaskOperationType.CREATE) {
+                Task task = TaskMapper.fromRequest(operation.getTask(),
+                        Project.builder().id(operation.getProjectId()).build());
+                task.setCreatedAt(now);
+                task.setUpdatedAt(now);
+                created.put(index, task);
+                counterDeltas.computeIfAbsent(operation.getProjectId(), id -> new int[2])[0]++;
+                // The response is filled in once the ids are reserved
+                results.add(result.status(TaskOperationResult.Status.OK).build());
+                continue;
+            }
+
+            Task task = tasks.get(operation.getTaskId());
+            if (task == null || !task.getProject().getId().equals(operation.getProjectId())) {
+                results.add(result.status(TaskOperationResult.Status.NOT_FOUND)
+                        .error("Task not found with id: " + operation.getTaskId())
+                        .build());
+                continue;
+            }
+
+            int[] delta = counterDeltas.computeIfAbsent(operation.getProjectId(), id -> new int[2]);
+            switch (operation.getType()) {
+                case UPDATE -> {
+                    TaskRequest request = operation.getTask();
+                    if (request.getVersion() != null && !request.getVersion().equals(lockedVersions.get(task.getId()))) {
+                        results.add(result.status(TaskOperationResult.Status.CONFLICT)
+                                .error("Task has been modified: " + task.getId())
+                                .build());
+                        continue;
+                    }
+                    task.setTitle(request.getTitle());
+                    task.setDescription(request.getDescription());
+                    task.setDueDate(request.getDueDate());
+                    task.setUpdatedAt(now);
+                    markUpdated(task, updatedIds);
+                    result.task(TaskMapper.toResponse(task));
+                }
+                case COMPLETE -> {
+                    // Completion commutes with other edits, so it is applied whatever the version
+                    if (!task.isCompleted()) {
+                        task.setCompleted(true);
+                        task.setUpdatedAt(now);
+                        markUpdated(task, updatedIds);
+                        delta[1]++;
+                    }
+                    result.task(TaskMapper.toResponse(task));
+                }
+                case DELETE -> {
+                    tasks.remove(task.getId());
+                    updatedIds.remove(task.getId());
+                    deletedIds.add(task.getId());
+                    delta[0]--;
+                    if (task.isCompleted()) {
+                        delta[1]--;
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected operation type: " + operation.getType());
+            }
+            results.add(result.status(TaskOperationResult.Status.OK).build());
+        }
+
+        writeChanges(created, results, updatedIds.stream().map(tasks::get).toList(), deletedIds, counterDeltas);
+        projectCacheEvictor.evictProjects(userId, counterDeltas.keySet());
+
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() == TaskOperationResult.Status.OK)
+                .count();
+        log.info("[TASK] Batch applied (user: {}): {} created, {} updated, {} deleted, {} failed",
+            userId, created.size(), updatedIds.size(), deletedIds.size(), results.size() - succeeded);
+
+        return TaskBatchResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private void writeChanges(Map<Integer, Task> created, List<TaskOperationResult> results,
+                              List<Task> updated, Set<Long> deletedIds, Map<Long, int[]> counterDeltas) {
+        if (!created.isEmpty()) {
+            List<Long> ids = taskJdbcRepository.reserveIds(created.size());
+            int i = 0;
+            for (Task task : created.values()) {
+                task.setId(ids.get(i++));
+            }
+            // Mapped once inserted, which sets the initial version the response must carry
+            taskJdbcRepository.insertAll(new ArrayList<>(created.values()));
+            created.forEach((index, task) -> results.get(index).setTask(TaskMapper.toResponse(task)));
+        }
+
+        taskJdbcRepository.updateAll(updated);
+        taskJdbcRepository.deleteAllByIds(deletedIds);
+        taskJdbcRepository.adjustCounters(counterDeltas.entrySet().stream()
+                .map(entry -> new CounterDelta(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .toList());
+    }
+
+    /**
+     * Records that a task will be written back, which moves its version forward once per batch
+     */
+    private static void markUpdated(Task task, Set<Long> updatedIds) {
+        if (updatedIds.add(task.getId())) {
+            task.setVersion(task.getVersion() + 1);
+        }
+    }
+
+    /**
+     * @return why the operation is malformed, or null if it carries what its type requires
+     */
+    private static String checkOperation(TaskOperation operation) {
+        return switch (operation.getType()) {
+            case CREATE -> operation.getTask() == null ? "task is required for CREATE" : null;
+            case UPDATE -> operation.getTaskId() == null || operation.getTask() == null
+                    ? "taskId and task are required for UPDATE" : null;
+            case COMPLETE, DELETE -> operation.getTaskId() == null
+                    ? "taskId is required for " + operation.getType() : null;
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.demo.TaskManager.services;
+
+import com.demo.TaskManager.common.Csv;
+import com.demo.TaskManager.common.exceptions.ProjectNotFoundException;
+import com.demo.TaskManager.dtos.TaskFileFormat;
+import com.demo.TaskManager.repositories.ProjectRepository;
+import com.demo.TaskManager.repositories.TaskJdbcRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * Streams tasks straight from a JDBC cursor into the HTTP response.
+ * No entity nor DTO is built and nothing is collected, so memory use does not depend on the export size.
+ */
+@Slf4j
+@Service
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,projectId,title,description,dueDate,completed,createdAt,updatedAt";
+
+    private final ProjectRepository projectRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskExportService(ProjectRepository projectRepository,
+                             TaskJdbcRepository taskJdbcRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks ownership right away, so that a missing project still yields a 404,
+     * and returns the body that will stream the tasks of the project
+     * @throws ProjectNotFoundException if the project does not exist or does not belong to the user
+     */
+    public StreamingResponseBody exportProjectTasks(Long projectId, Long userId, TaskFileFormat format) {
+        log.info("[EXPORT] Exporting tasks of project: {} as {} (user: {})", projectId, format, userId);
+
+        projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> {
+                    log.warn("[EXPORT] Project not found with id: {} for user: {}", projectId, userId);
+                    return new ProjectNotFoundException("Project not found with id: " + projectId);
+                });
+
+        return out -> stream(out, format, handler -> taskJdbcRepository.forEachOfProject(projectId, handler));
+    }
+
+    /**
+     * @return the body that will stream the tasks of every project of the user
+     */
+    public StreamingResponseBody exportUserTasks(Long userId, TaskFileFormat format) {
+        log.info("[EXPORT] Exporting all tasks as {} (user: {})", format, userId);
+
+        return out -> stream(out, format, handler -> taskJdbcRepository.forEachOfUser(userId, handler));
+    }
+
+    private void stream(OutputStream out, TaskFileFormat format,
+                        Consumer<RowCallbackHandler> query) throws IOException {
+        TaskRowWriter writer = format == TaskFileFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> query.accept(writer));
+        } catch (UncheckedIOException ex) {
+            // Most likely the client went away, there is no response left to report to
+            log.warn("[EXPORT] Export aborted after {} rows: {}", writer.rows(), ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        writer.finish();
+        log.info("[EXPORT] Export of {} rows as {} completed", writer.rows(), format);
+    }
+
+    private abstract static class TaskRowWriter implements RowCallbackHandler {
+
+        private long rows;
+
+        @Override
+        public final void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs);
+                rows++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        abstract void finish() throws IOException;
+
+        static String timestamp(ResultSet rs, String column) throws SQLException {
+            Timestamp value = rs.getTimestamp(column);
+            return value != null ? value.toLocalDateTime().toString() : null;
+        }
+    }
+
+    private final class NdjsonRowWriter extends TaskRowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("projectId", rs.getLong("project_id"));
+            generator.writeStringField("title", rs.getString("title"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeStringField("dueDate", rs.getString("due_date"));
+            generator.writeBooleanField("completed", rs.getBoolean("completed"));
+            generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+            generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+            generator.writeEndObject();
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (rows() > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends TaskRowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(CSV_HEADER);
+            this.writer.write("\r\n");
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("project_id")));
+            writer.write(',');
+            writer.write(Csv.escape(rs.getString("title")));
+            writer.write(',');
+            writer.write(Csv.escape(rs.getString("description")));
+            writer.write(',');
+            writer.write(rs.getString("due_date"));
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean("completed")));
+            writer.write(',');
+            writer.write(Csv.escape(timestamp(rs, "created_at")));
+            writer.write(',');
+            writer.write(Csv.escape(timestamp(rs, "updated_at")));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
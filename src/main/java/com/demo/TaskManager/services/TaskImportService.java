@@ -0,0 +1,399 @@
+package com.demo.TaskManager.services;
+
+import com.demo.TaskManager.common.Csv;
+import com.demo.TaskManager.common.exceptions.BadRequestException;
+import com.demo.TaskManager.common.exceptions.ProjectNotFoundException;
+import com.demo.TaskManager.dtos.TaskFileFormat;
+import com.demo.TaskManager.dtos.TaskImportError;
+import com.demo.TaskManager.dtos.TaskImportResponse;
+import com.demo.TaskManager.dtos.TaskRequest;
+import com.demo.TaskManager.entities.Project;
+import com.demo.TaskManager.entities.Task;
+import com.demo.TaskManager.mappers.TaskMapper;
+import com.demo.TaskManager.repositories.ProjectRepository;
+import com.demo.TaskManager.repositories.TaskJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from a CSV or NDJSON stream.
+ * Rows are parsed one at a time and inserted by chunks, each chunk in its own transaction,
+ * so neither the file nor the parsed tasks are ever held in memory as a whole.
+ * Invalid rows are reported and skipped, they never abort the import.
+ * When the database rejects a chunk, its rows are inserted again one by one to report the offending ones.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final ProjectCacheEvictor projectCacheEvictor;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final ObjectReader taskReader;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxRowLength;
+
+    public TaskImportService(ProjectRepository projectRepository,
+                             TaskJdbcRepository taskJdbcRepository,
+                             ProjectCacheEvictor projectCacheEvictor,
+                             Validator validator,
+                             MeterRegistry meterRegistry,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${tasks.import.chunk-size:1000}") int chunkSize,
+                             @Value("${tasks.import.max-reported-errors:100}") int maxReportedErrors,
+                             @Value("${tasks.import.max-row-length:65536}") int maxRowLength) {
+        this.projectRepository = projectRepository;
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.projectCacheEvictor = projectCacheEvictor;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        // Exported files carry id, projectId, completed... which are ignored on import
+        this.taskReader = objectMapper.readerFor(TaskRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxRowLength = maxRowLength;
+    }
+
+    /**
+     * Imports the tasks of a CSV or NDJSON body into a project of the user
+     * @param body the raw request body, read as UTF-8
+     * @return the number of imported and rejected rows with the first errors
+     * @throws ProjectNotFoundException if the project does not exist or does not belong to the user
+     * @throws BadRequestException if the CSV header lacks the title or dueDate column
+     */
+    public TaskImportResponse importTasks(Long projectId, Long userId, TaskFileFormat format,
+                                          InputStream body) throws IOException {
+        log.info("[IMPORT] Importing {} tasks into project: {} (user: {})", format, projectId, userId);
+
+        projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> {
+                    log.warn("[IMPORT] Project not found with id: {} for user: {}", projectId, userId);
+                    return new ProjectNotFoundException("Project not found with id: " + projectId);
+                });
+
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowSource rows = format == TaskFileFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+        ImportRun run = new ImportRun(projectId, userId, format);
+
+        try {
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    run.reject(row.line(), error);
+                } else {
+                    run.add(row);
+                }
+            }
+        } catch (Csv.MalformedRecordException ex) {
+            log.warn("[IMPORT] Stopping import into project {}: {}", projectId, ex.getMessage());
+            run.abortedReason = ex.getMessage();
+        }
+        run.flush();
+
+        return run.finish();
+    }
+
+    private String validate(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * State of one import: the pending chunk, the counts and the reported errors
+     */
+    private final class ImportRun {
+
+        private final Long projectId;
+        private final Long userId;
+        private final TaskFileFormat format;
+        private final long startedAt = System.nanoTime();
+        private final List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        private final List<TaskImportError> errors = new ArrayList<>();
+        private final Counter importedRows;
+        private final Counter rejectedRows;
+        private final Timer chunkTimer;
+        private long imported;
+        private long rejected;
+        private String abortedReason;
+
+        ImportRun(Long projectId, Long userId, TaskFileFormat format) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.format = format;
+            String formatTag = format.getFileExtension();
+            this.importedRows = Counter.builder("tasks.import.rows")
+                    .description("Rows read by task imports")
+                    .tag("format", formatTag).tag("outcome", "imported")
+                    .register(meterRegistry);
+            this.rejectedRows = Counter.builder("tasks.import.rows")
+                    .description("Rows read by task imports")
+                    .tag("format", formatTag).tag("outcome", "rejected")
+                    .register(meterRegistry);
+            this.chunkTimer = Timer.builder("tasks.import.chunk")
+                    .description("Time to insert and commit one chunk of imported tasks")
+                    .tag("format", formatTag)
+                    .register(meterRegistry);
+        }
+
+        void add(ParsedRow row) {
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String error) {
+            rejected++;
+            rejectedRows.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(TaskImportError.builder().line(line).error(error).build());
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                chunkTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(chunk)));
+                imported += chunk.size();
+                importedRows.increment(chunk.size());
+            } catch (DataAccessException ex) {
+                log.warn("[IMPORT] Chunk of {} rows rejected in project {}, retrying row by row: {}",
+                        chunk.size(), projectId, ex.getMostSpecificCause().getMessage());
+                insertOneByOne();
+            }
+            chunk.clear();
+            log.info("[IMPORT] Project {}: {} rows imported, {} rejected so far ({} rows/s)",
+                    projectId, imported, rejected, Math.round(rowsPerSecond()));
+        }
+
+        /**
+         * Inserts each row of the failed chunk in its own transaction, so that the valid rows are kept
+         * and the rows the database refuses are reported with their line
+         */
+        private void insertOneByOne() {
+            for (ParsedRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    imported++;
+                    importedRows.increment();
+                } catch (DataAccessException ex) {
+                    reject(row.line(), "Rejected by the database: " + ex.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        private void insert(List<ParsedRow> rows) {
+            // Takes the project row lock first: a concurrent delete either completes before, or waits for the commit
+            if (projectRepository.adjustTaskCounters(projectId, rows.size(), 0) == 0) {
+                throw new ProjectNotFoundException("Project not found with id: " + projectId);
+            }
+            Project project = Project.builder().id(projectId).build();
+            List<Long> ids = taskJdbcRepository.reserveIds(rows.size());
+            LocalDateTime now = LocalDateTime.now();
+            List<Task> tasks = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Task task = TaskMapper.fromRequest(rows.get(i).request(), project);
+                task.setId(ids.get(i));
+                task.setCreatedAt(now);
+                task.setUpdatedAt(now);
+                tasks.add(task);
+            }
+            taskJdbcRepository.insertAll(tasks);
+            projectCacheEvictor.evictProjects(userId, List.of(projectId));
+        }
+
+        private double rowsPerSecond() {
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            return seconds > 0 ? imported / seconds : 0;
+        }
+
+        TaskImportResponse finish() {
+            double rowsPerSecond = rowsPerSecond();
+            DistributionSummary.builder("tasks.import.throughput")
+                    .description("Rows imported per second, per import")
+                    .baseUnit("rows/s")
+                    .tag("format", format.getFileExtension())
+                    .register(meterRegistry)
+                    .record(rowsPerSecond);
+            log.info("[IMPORT] Import into project {} completed: {} rows imported, {} rejected ({} rows/s)",
+                    projectId, imported, rejected, Math.round(rowsPerSecond));
+
+            return TaskImportResponse.builder()
+                    .importedCount(imported)
+                    .failedCount(rejected)
+                    .errors(errors)
+                    .errorsTruncated(rejected > errors.size())
+                    .abortedReason(abortedReason)
+                    .durationMillis((System.nanoTime() - startedAt) / 1_000_000)
+                    .rowsPerSecond(rowsPerSecond)
+                    .build();
+        }
+    }
+
+    private record ParsedRow(long line, TaskRequest request, String error) {
+
+        static ParsedRow invalid(long line, String error) {
+            return new ParsedRow(line, null, error);
+        }
+    }
+
+    private interface RowSource {
+
+        /**
+         * @return the next row, or null at the end of the input
+         */
+        ParsedRow next() throws IOException;
+    }
+
+    /**
+     * Reads rows of a CSV file with a header line; columns are matched by name,
+     * so that a CSV export can be imported back as is
+     */
+    private final class CsvRowSource implements RowSource {
+
+        private final Csv.Reader csv;
+        private int titleColumn = -1;
+        private int descriptionColumn = -1;
+        private int dueDateColumn = -1;
+
+        CsvRowSource(Reader reader) throws IOException {
+            this.csv = new Csv.Reader(reader, maxRowLength);
+            List<String> header = csv.next();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.size(); i++) {
+                // A byte order mark may precede the first column name
+                switch (header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT)) {
+                    case "title" -> titleColumn = i;
+                    case "description" -> descriptionColumn = i;
+                    case "duedate", "due_date" -> dueDateColumn = i;
+                    default -> { }
+                }
+            }
+            if (titleColumn < 0 || dueDateColumn < 0) {
+                throw new BadRequestException("CSV header must contain the columns title and dueDate");
+            }
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            long line = csv.recordLine();
+            String dueDate = field(fields, dueDateColumn);
+            TaskRequest request = new TaskRequest(field(fields, titleColumn), field(fields, descriptionColumn), null, null);
+            if (dueDate != null) {
+                try {
+                    request.setDueDate(LocalDate.parse(dueDate.trim()));
+                } catch (DateTimeParseException ex) {
+                    return ParsedRow.invalid(line, "dueDate: invalid date '" + dueDate + "', expected yyyy-MM-dd");
+                }
+            }
+            return new ParsedRow(line, request, null);
+        }
+
+        private static String field(List<String> fields, int column) {
+            if (column < 0 || column >= fields.size() || fields.get(column).isEmpty()) {
+                return null;
+            }
+            return fields.get(column);
+        }
+    }
+
+    /**
+     * Reads one JSON object per line; a malformed or oversized line only rejects that line
+     */
+    private final class NdjsonRowSource implements RowSource {
+
+        private final Reader reader;
+        private final StringBuilder buffer = new StringBuilder();
+        private long line;
+
+        NdjsonRowSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            while (true) {
+                buffer.setLength(0);
+                boolean tooLong = false;
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (buffer.length() < maxRowLength) {
+                        buffer.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (c == -1 && buffer.isEmpty()) {
+                    return null;
+                }
+                line++;
+                if (tooLong) {
+                    return ParsedRow.invalid(line, "Line exceeds " + maxRowLength + " characters");
+                }
+                String json = buffer.toString().strip();
+                if (json.isEmpty()) {
+                    continue;
+                }
+                try {
+                    TaskRequest request = taskReader.readValue(json);
+                    return request != null
+                            ? new ParsedRow(line, request, null)
+                            : ParsedRow.invalid(line, "Expected a JSON object");
+                } catch (JsonProcessingException ex) {
+                    return ParsedRow.invalid(line, "Malformed JSON: " + ex.getOriginalMessage());
+                }
+            }
+        }
+    }
+}
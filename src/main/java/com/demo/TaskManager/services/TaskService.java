@@ -1,21 +1,31 @@
 package com.demo.TaskManager.services;
 
+import com.demo.TaskManager.common.ETags;
+import com.demo.TaskManager.common.KeysetCursor;
+import com.demo.TaskManager.common.exceptions.PreconditionFailedException;
 import com.demo.TaskManager.common.exceptions.ProjectNotFoundException;
 import com.demo.TaskManager.common.exceptions.TaskNotFoundException;
+import com.demo.TaskManager.common.exceptions.VersionConflictException;
+import com.demo.TaskManager.dtos.BulkTaskResponse;
+import com.demo.TaskManager.dtos.PageResponse;
+import com.demo.TaskManager.dtos.TaskFilter;
 import com.demo.TaskManager.dtos.TaskRequest;
 import com.demo.TaskManager.dtos.TaskResponse;
 import com.demo.TaskManager.entities.Project;
 import com.demo.TaskManager.entities.Task;
 import com.demo.TaskManager.mappers.TaskMapper;
 import com.demo.TaskManager.repositories.ProjectRepository;
+import com.demo.TaskManager.repositories.TaskJdbcRepository;
 import com.demo.TaskManager.repositories.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -24,6 +34,8 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final ProjectCacheEvictor projectCacheEvictor;
 
     @Transactional
     public TaskResponse createTask(Long projectId, TaskRequest request, Long userId) {
@@ -36,43 +48,98 @@ public class TaskService {
                     return new ProjectNotFoundException("Project not found with id: " + projectId);
                 });
 
+        // Project counters are incremented by TaskCounterListener once the row is inserted
         Task task = TaskMapper.fromRequest(request, project);
 
         Task savedTask = taskRepository.save(task);
+        projectCacheEvictor.evictProjects(userId, List.of(projectId));
         log.info("[TASK] Task created successfully: id={}, title='{}', project='{}', due date: {}",
             savedTask.getId(), savedTask.getTitle(), project.getTitle(), savedTask.getDueDate());
 
         return TaskMapper.toResponse(savedTask);
     }
 
-    @Transactional(readOnly = true)
-    public List<TaskResponse> getProjectTasks(Long projectId, Long userId) {
-        log.info("[TASK] Fetching all tasks for project: {} (user: {})", projectId, userId);
+    /**
+     * Creates many tasks in one transaction: ownership is checked once, ids are reserved
+     * in one round trip and rows are inserted with JDBC batches
+     */
+    @Transactional
+    public BulkTaskResponse createTasks(Long projectId, List<TaskRequest> requests, Long userId) {
+        log.info("[TASK] Bulk creating {} tasks for project: {} (user: {})", requests.size(), projectId, userId);
 
-        verifyProjectExistsForUser(projectId, userId);
+        Project project = projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> {
+                    log.warn("[TASK] Project not found with id: {} for user: {}", projectId, userId);
+                    return new ProjectNotFoundException("Project not found with id: " + projectId);
+                });
 
-        List<Task> tasks = taskRepository.findByProjectId(projectId);
-        long completedCount = tasks.stream().filter(Task::isCompleted).count();
+        List<Long> ids = taskJdbcRepository.reserveIds(requests.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Task task = TaskMapper.fromRequest(requests.get(i), project);
+            task.setId(ids.get(i));
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+        }
 
-        log.info("[TASK] Found {} tasks for project {}: {} completed, {} pending",
-            tasks.size(), projectId, completedCount, tasks.size() - completedCount);
+        taskJdbcRepository.insertAll(tasks);
+        projectRepository.adjustTaskCounters(projectId, tasks.size(), 0);
+        projectCacheEvictor.evictProjects(userId, List.of(projectId));
+        log.info("[TASK] Bulk created {} tasks for project '{}'", tasks.size(), project.getTitle());
 
-        return tasks.stream()
-                .map(TaskMapper::toResponse)
-                .collect(Collectors.toList());
+        return BulkTaskResponse.builder()
+                .createdCount(tasks.size())
+                .taskIds(ids)
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public TaskResponse getTaskById(Long projectId, Long taskId, Long userId) {
-        log.info("[TASK] Fetching task with id: {} from project: {} (user: {})", taskId, projectId, userId);
+    public PageResponse<TaskResponse> getProjectTasks(Long projectId, TaskFilter filter, String cursor,
+                                                      int limit, Long userId) {
+        log.info("[TASK] Fetching tasks page for project: {} (user: {}, filter: {}, limit: {})",
+            projectId, userId, filter, limit);
+
+        int pageSize = PageResponse.checkPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
         verifyProjectExistsForUser(projectId, userId);
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
+        List<Task> tasks = taskJdbcRepository.findPage(projectId, filter,
+                after != null ? after.sortKeyAsDate() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        PageResponse<TaskResponse> page = PageResponse.of(tasks, pageSize, TaskMapper::toResponse,
+                task -> KeysetCursor.of(task.getDueDate(), task.getId()));
+        log.info("[TASK] Returning {} tasks for project {} (has more: {})",
+            page.getItems().size(), projectId, page.isHasMore());
+
+        return page;
+    }
+
+    /**
+     * Computes the entity tag of a page of tasks without loading it: it changes with any insert,
+     * delete or update of a task of the project, whatever the filter
+     */
+    @Transactional(readOnly = true)
+    public String getProjectTasksETag(Long projectId, TaskFilter filter, String cursor, int limit, Long userId) {
+        ProjectRepository.TaskListVersion version = projectRepository.findTaskListVersion(projectId, userId)
                 .orElseThrow(() -> {
-                    log.warn("[TASK] Task not found with id: {} in project: {}", taskId, projectId);
-                    return new TaskNotFoundException("Task not found with id: " + taskId);
+                    log.warn("[TASK] Project not found with id: {} for user: {}", projectId, userId);
+                    return new ProjectNotFoundException("Project not found with id: " + projectId);
                 });
+        return ETags.weak("tasks", projectId, version.getTotalTasks(), version.getCompletedTasks(),
+                version.getLastUpdatedAt(), filter, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long projectId, Long taskId, Long userId) {
+        log.info("[TASK] Fetching task with id: {} from project: {} (user: {})", taskId, projectId, userId);
+
+        Task task = taskRepository.findOwnedTask(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(taskId, projectId, userId));
 
         log.debug("[TASK] Task found: '{}', status: {}, due: {}",
             task.getTitle(), task.isCompleted() ? "completed" : "pending", task.getDueDate());
@@ -80,27 +147,39 @@ public class TaskService {
         return TaskMapper.toResponse(task);
     }
 
+    /**
+     * @param ifMatch the If-Match header, or null for an unconditional update
+     * @throws PreconditionFailedException if the task changed since the client read it
+     * @throws VersionConflictException if the request carries a version and the task is no longer at it
+     */
     @Transactional
-    public TaskResponse updateTask(Long projectId, Long taskId, TaskRequest request, Long userId) {
+    public TaskResponse updateTask(Long projectId, Long taskId, TaskRequest request, Long userId, String ifMatch) {
         log.info("[TASK] Updating task with id: {} in project: {} (user: {})", taskId, projectId, userId);
 
-        // Verify project belongs to user
-        verifyProjectExistsForUser(projectId, userId);
-
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> {
-                    log.warn("[TASK] Task not found with id: {} in project: {}", taskId, projectId);
-                    return new TaskNotFoundException("Task not found with id: " + taskId);
-                });
+        if (ifMatch != null) {
+            // The row stays locked until commit, so nobody can slip a change in after the check
+            LocalDateTime updatedAt = taskRepository.lockOwnedTaskUpdatedAt(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(taskId, projectId, userId));
+            String currentETag = TaskMapper.toETag(taskId, updatedAt);
+            if (!ETags.matches(ifMatch, currentETag)) {
+                log.warn("[TASK] Task {} was modified since {} (current: {})", taskId, ifMatch, currentETag);
+                throw new PreconditionFailedException("Task has been modified: " + taskId);
+            }
+        }
 
-        String oldTitle = task.getTitle();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setDueDate(request.getDueDate());
+        // Ownership check, version check, update and read-back in one statement
+        Optional<Task> updated = taskRepository.updateOwnedTask(taskId, projectId, userId, request.getTitle(),
+                request.getDescription(), request.getDueDate(), request.getVersion(), LocalDateTime.now());
+        if (updated.isEmpty()) {
+            Task current = taskRepository.findOwnedTask(taskId, projectId, userId)
+                    .orElseThrow(() -> taskNotFound(taskId, projectId, userId));
+            log.warn("[TASK] Task {} is at version {}, client sent {}", taskId, current.getVersion(), request.getVersion());
+            throw new VersionConflictException("Task has been modified: " + taskId);
+        }
+        Task updatedTask = updated.get();
 
-        Task updatedTask = taskRepository.save(task);
-        log.info("[TASK] Task updated successfully: id={}, old title='{}', new title='{}', due date: {}",
-            taskId, oldTitle, updatedTask.getTitle(), updatedTask.getDueDate());
+        log.info("[TASK] Task updated successfully: id={}, new title='{}', due date: {}",
+            taskId, updatedTask.getTitle(), updatedTask.getDueDate());
 
         return TaskMapper.toResponse(updatedTask);
     }
@@ -109,45 +188,39 @@ public class TaskService {
     public TaskResponse markTaskAsCompleted(Long projectId, Long taskId, Long userId) {
         log.info("[TASK] Marking task as completed: id={}, project: {} (user: {})", taskId, projectId, userId);
 
-        // Verify project belongs to user
-        verifyProjectExistsForUser(projectId, userId);
-
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> {
-                    log.warn("[TASK] Task not found with id: {} in project: {}", taskId, projectId);
-                    return new TaskNotFoundException("Task not found with id: " + taskId);
-                });
-
-        if (task.isCompleted()) {
-            log.info("[TASK] Task {} was already completed", taskId);
+        // Ownership check, completion and counter increment in one statement
+        Optional<Task> completedTask = taskRepository.completeOwnedTask(taskId, projectId, userId, LocalDateTime.now());
+        if (completedTask.isPresent()) {
+            projectCacheEvictor.evictProjects(userId, List.of(projectId));
+            log.info("[TASK] Task marked as completed successfully: id={}, title='{}'",
+                taskId, completedTask.get().getTitle());
+            return TaskMapper.toResponse(completedTask.get());
         }
 
-        task.setCompleted(true);
-        Task updatedTask = taskRepository.save(task);
-        log.info("[TASK] Task marked as completed successfully: id={}, title='{}'",
-            taskId, updatedTask.getTitle());
+        // Nothing changed: either the task was already completed or it is not visible to this user
+        Task task = taskRepository.findOwnedTask(taskId, projectId, userId)
+                .orElseThrow(() -> taskNotFound(taskId, projectId, userId));
+        log.info("[TASK] Task {} was already completed", taskId);
 
-        return TaskMapper.toResponse(updatedTask);
+        return TaskMapper.toResponse(task);
     }
 
     @Transactional
     public void deleteTask(Long projectId, Long taskId, Long userId) {
         log.info("[TASK] Deleting task with id: {} from project: {} (user: {})", taskId, projectId, userId);
 
-        // Verify project belongs to user
-        verifyProjectExistsForUser(projectId, userId);
+        // Ownership check, delete and counter decrement in one statement
+        if (taskRepository.deleteOwnedTask(taskId, projectId, userId) == 0) {
+            throw taskNotFound(taskId, projectId, userId);
+        }
+        projectCacheEvictor.evictProjects(userId, List.of(projectId));
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> {
-                    log.warn("[TASK] Task not found with id: {} in project: {}", taskId, projectId);
-                    return new TaskNotFoundException("Task not found with id: " + taskId);
-                });
+        log.info("[TASK] Task deleted successfully: id={}, project: {}", taskId, projectId);
+    }
 
-        String taskTitle = task.getTitle();
-        boolean wasCompleted = task.isCompleted();
-        taskRepository.delete(task);
-        log.info("[TASK] Task deleted successfully: id={}, title='{}', was completed: {}",
-            taskId, taskTitle, wasCompleted);
+    private TaskNotFoundException taskNotFound(Long taskId, Long projectId, Long userId) {
+        log.warn("[TASK] Task not found with id: {} in project: {} (user: {})", taskId, projectId, userId);
+        return new TaskNotFoundException("Task not found with id: " + taskId);
     }
 
 
@@ -0,0 +1,122 @@
+package com.demo.TaskManager.tracing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tail-based sampling in front of a span exporter. Spans are held per trace until the local root
+ * span ends, then the whole trace is exported if it was slow, if one of its spans failed, or for a
+ * random share of the others; otherwise it is dropped. Spans ending after their root (work completed
+ * asynchronously) follow the decision taken for their trace.
+ *
+ * <p>Every trace must therefore be recorded: the head sampler has to let everything through
+ * (management.tracing.sampling.probability = 1.0).
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    private final SpanExporter delegate;
+    private final long latencyThresholdNanos;
+    private final double baselineRatio;
+    private final Cache<String, List<SpanData>> pendingSpans;
+    private final Cache<String, Boolean> decisions;
+
+    /**
+     * @param maxPendingTraces traces held at most while waiting for their root span
+     * @param decisionWait     how long pending spans and decisions are kept
+     */
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration latencyThreshold, double baselineRatio,
+                                    long maxPendingTraces, Duration decisionWait) {
+        this.delegate = delegate;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.baselineRatio = baselineRatio;
+        this.pendingSpans = Caffeine.newBuilder()
+                .maximumSize(maxPendingTraces)
+                .expireAfterWrite(decisionWait)
+                .build();
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(maxPendingTraces)
+                .expireAfterWrite(decisionWait)
+                .build();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> sampled = new ArrayList<>();
+        for (SpanData span : spans) {
+            String traceId = span.getTraceId();
+            Boolean decision = decisions.getIfPresent(traceId);
+            if (decision != null) {
+                if (decision) {
+                    sampled.add(span);
+                }
+            } else if (!isLocalRoot(span)) {
+                pendingSpans.asMap().compute(traceId, (id, pending) -> {
+                    List<SpanData> trace = pending != null ? pending : new ArrayList<>();
+                    trace.add(span);
+                    return trace;
+                });
+            } else {
+                List<SpanData> trace = pendingSpans.asMap().remove(traceId);
+                if (trace == null) {
+                    trace = new ArrayList<>();
+                }
+                trace.add(span);
+                boolean keep = keep(span, trace);
+                decisions.put(traceId, keep);
+                if (keep) {
+                    sampled.addAll(trace);
+                }
+            }
+        }
+        return sampled.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(sampled);
+    }
+
+    private boolean keep(SpanData root, List<SpanData> trace) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= latencyThresholdNanos) {
+            return true;
+        }
+        for (SpanData span : trace) {
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR
+                    || "SERVER_ERROR".equals(span.getAttributes().get(OUTCOME))) {
+                return true;
+            }
+        }
+        return baselineRatio > 0 && ThreadLocalRandom.current().nextDouble() < baselineRatio;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pendingSpans.invalidateAll();
+        decisions.invalidateAll();
+        return delegate.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingSpanExporter{delegate=" + delegate + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.demo.TaskManager.tracing;
+
+import com.demo.TaskManager.common.InstrumentationOrder;
+import com.demo.TaskManager.common.Outcomes;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Opens a span per controller handler and per service operation, named like "ProjectService.getProjects".
+ * The HTTP server and security filter chain spans come from Spring's observations and the JDBC ones
+ * from the data source proxy: the time of an HTTP span not covered by its controller span went to the
+ * filters and to the response serialization (including the lazy loads it triggers).
+ * Runs outside the timing, JFR, caching and transactional advices (see InstrumentationOrder),
+ * so a service span includes the cache lookup and the transaction.
+ * A failure is tagged with its outcome and exception; only the unexpected ones ("error") set the error
+ * status, which makes the tail sampling keep the trace, so 404/409/412 answers are sampled like successes.
+ */
+@Aspect
+@Component
+@Order(InstrumentationOrder.TRACING)
+public class TracingSpanAspect {
+
+    private final Tracer tracer;
+
+    public TracingSpanAspect(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    @Around("execution(public * com.demo.TaskManager.controllers..*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.TaskService.*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.ProjectService.*(..)) || " +
+            "execution(public * com.demo.TaskManager.services.AuthService.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan()
+                .name(type + "." + method)
+                .tag("code.namespace", joinPoint.getSignature().getDeclaringTypeName())
+                .tag("code.function", method)
+                .start();
+        Object result;
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            fail(span, ex);
+            span.end();
+            throw ex;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            return future.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    fail(span, ex);
+                }
+                span.end();
+            });
+        }
+        span.end();
+        return result;
+    }
+
+    private static void fail(Span span, Throwable ex) {
+        String outcome = Outcomes.of(ex);
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        span.tag("outcome", outcome).tag("exception", cause.getClass().getSimpleName());
+        if ("error".equals(outcome)) {
+            span.error(cause);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.demo.TaskManager;
+
+import com.demo.TaskManager.common.ApiResponse;
+import com.demo.TaskManager.dtos.BulkTaskRequest;
+import com.demo.TaskManager.dtos.ProjectRequest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.RegisterRequest;
+import com.demo.TaskManager.dtos.TaskRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application on a random port against a PostgreSQL container shared by every test class,
+ * with helpers to register users and create projects and tasks through the API
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public abstract class AbstractIntegrationTest {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUrlParam("reWriteBatchedInserts", "true");
+
+    static {
+        // Started once for all test classes, Testcontainers removes it when the JVM exits
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    protected TestRestTemplate restTemplate;
+
+    /**
+     * Registers a new user with a unique email
+     * @return the JWT issued on registration
+     */
+    protected String registerUser() {
+        RegisterRequest request = new RegisterRequest("Test user",
+                "user-" + UUID.randomUUID() + "@example.com", "password123");
+        ResponseEntity<ApiResponse<String>> response = restTemplate.exchange("/auth/register", HttpMethod.POST,
+                new HttpEntity<>(request), new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().getData();
+    }
+
+    protected HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    protected <T> ResponseEntity<T> get(String token, String url, Class<T> type) {
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(bearer(token)), type);
+    }
+
+    protected ProjectResponse createProject(String token, String title) {
+        ResponseEntity<ProjectResponse> response = restTemplate.exchange("/api/projects", HttpMethod.POST,
+                new HttpEntity<>(new ProjectRequest(title, "Created by a test", null), bearer(token)),
+                ProjectResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    /**
+     * Creates tasks through the bulk endpoint, due one day apart starting today
+     */
+    protected void createTasks(String token, Long projectId, int count) {
+        List<TaskRequest> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskRequest("Task " + i, null, LocalDate.now().plusDays(i), null));
+        }
+        ResponseEntity<String> response = restTemplate.exchange("/api/projects/" + projectId + "/tasks/bulk",
+                HttpMethod.POST, new HttpEntity<>(new BulkTaskRequest(tasks), bearer(token)), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+}
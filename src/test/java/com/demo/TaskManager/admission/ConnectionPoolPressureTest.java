@@ -0,0 +1,48 @@
+package com.demo.TaskManager.admission;
+
+import com.demo.TaskManager.datasource.GatedDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionPoolPressureTest {
+
+    @Test
+    void countsTheCallersQueuedOnTheGate() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        GatedDataSource gate = new GatedDataSource(pool, 1, Duration.ofSeconds(5));
+        // Wrapped like the application data source, by the query statistics proxy
+        ConnectionPoolPressure pressure = new ConnectionPoolPressure(ProxyDataSourceBuilder.create(gate).build());
+
+        Connection held = gate.getConnection();
+        assertThat(pressure.threadsAwaitingConnection()).isZero();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return gate.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pressure.threadsAwaitingConnection() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pressure.threadsAwaitingConnection()).isEqualTo(1);
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+        assertThat(pressure.threadsAwaitingConnection()).isZero();
+    }
+}
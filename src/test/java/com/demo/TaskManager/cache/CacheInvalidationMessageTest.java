@@ -0,0 +1,48 @@
+package com.demo.TaskManager.cache;
+
+import com.demo.TaskManager.cache.CacheInvalidationMessage.Invalidation;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationMessageTest {
+
+    @Test
+    void roundTripsTheEvictionsOfATransaction() {
+        CacheInvalidationMessage message = CacheInvalidationMessage.of("node1", List.of(
+                Invalidation.evict("projects", "1:2"),
+                Invalidation.evict("userProjects", 1L),
+                Invalidation.clear("projectProgress")));
+
+        CacheInvalidationMessage decoded = CacheInvalidationMessage.decode(message.encode());
+
+        assertThat(decoded).isEqualTo(message);
+        assertThat(decoded.invalidations().get(2).isClear()).isTrue();
+    }
+
+    @Test
+    void fallsBackToClearsWhenThePayloadWouldNotFit() {
+        List<Invalidation> invalidations = new ArrayList<>();
+        for (long projectId = 0; projectId < 2000; projectId++) {
+            invalidations.add(Invalidation.evict("projects", "1:" + projectId));
+            invalidations.add(Invalidation.evict("projectProgress", "1:" + projectId));
+        }
+
+        String payload = CacheInvalidationMessage.of("node1", invalidations).encode();
+
+        assertThat(payload.getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(CacheInvalidationMessage.MAX_PAYLOAD_BYTES);
+        assertThat(CacheInvalidationMessage.decode(payload).invalidations())
+                .containsExactly(Invalidation.clear("projects"), Invalidation.clear("projectProgress"));
+    }
+
+    @Test
+    void rejectsPayloadsItDidNotProduce() {
+        assertThat(CacheInvalidationMessage.decode("node1")).isNull();
+        assertThat(CacheInvalidationMessage.decode("node1\n|key")).isNull();
+    }
+}
@@ -0,0 +1,99 @@
+package com.demo.TaskManager.cache;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.cache.CacheInvalidationMessage.Invalidation;
+import com.demo.TaskManager.config.CacheConfig;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.TaskRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listens on the invalidation channel like another node would: a write sends one notification
+ * carrying all of its evictions, and a write that fails sends none
+ */
+class CacheInvalidationNotifyTest extends AbstractIntegrationTest {
+
+    private static final String CHANNEL = "task_manager_cache";
+
+    private Connection listener;
+
+    @BeforeEach
+    void listen() throws SQLException {
+        listener = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = listener.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        listener.close();
+    }
+
+    @Test
+    void aWriteSendsOneNotificationWithAllItsEvictions() throws SQLException {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Notified");
+        drain();
+
+        ResponseEntity<String> response = createTask(token, project.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        List<CacheInvalidationMessage> messages = drain();
+        assertThat(messages).hasSize(1);
+        List<Invalidation> invalidations = messages.get(0).invalidations();
+        assertThat(invalidations).extracting(Invalidation::cacheName).containsExactlyInAnyOrder(
+                CacheConfig.PROJECTS, CacheConfig.PROJECT_PROGRESS, CacheConfig.USER_PROJECTS);
+        assertThat(invalidations).filteredOn(invalidation -> !invalidation.cacheName().equals(CacheConfig.USER_PROJECTS))
+                .allSatisfy(invalidation -> assertThat(invalidation.key()).endsWith(":" + project.getId()));
+    }
+
+    @Test
+    void aFailedWriteSendsNothing() throws SQLException {
+        String token = registerUser();
+        drain();
+
+        ResponseEntity<String> response = createTask(token, Long.MAX_VALUE);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(drain()).isEmpty();
+    }
+
+    private ResponseEntity<String> createTask(String token, Long projectId) {
+        return restTemplate.exchange("/api/projects/" + projectId + "/tasks", HttpMethod.POST,
+                new HttpEntity<>(new TaskRequest("Task", null, LocalDate.now(), null), bearer(token)), String.class);
+    }
+
+    /**
+     * @return the messages received until the channel stays quiet for half a second
+     */
+    private List<CacheInvalidationMessage> drain() throws SQLException {
+        PGConnection pgConnection = listener.unwrap(PGConnection.class);
+        List<CacheInvalidationMessage> messages = new ArrayList<>();
+        PGNotification[] notifications;
+        while ((notifications = pgConnection.getNotifications(500)) != null && notifications.length > 0) {
+            for (PGNotification notification : notifications) {
+                messages.add(CacheInvalidationMessage.decode(notification.getParameter()));
+            }
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,37 @@
+package com.demo.TaskManager.cache;
+
+import com.demo.TaskManager.config.CacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ClusterCacheManagerTest {
+
+    private final List<String> evictions = new ArrayList<>();
+    private final ClusterCacheManager cacheManager = new ClusterCacheManager(
+            new ConcurrentMapCacheManager(CacheConfig.PROJECTS), mock(CacheInvalidationPublisher.class),
+            List.of((cacheName, key) -> evictions.add(cacheName + "/" + key)), List.of(CacheConfig.USERS));
+
+    @Test
+    void entityRegionInvalidationsReachTheListeners() {
+        cacheManager.evictLocally(CacheConfig.USERS, "42");
+        cacheManager.clearLocally(CacheConfig.USERS);
+
+        assertThat(evictions).containsExactly("users/42", "users/null");
+    }
+
+    @Test
+    void clearingEverythingAlsoClearsTheEntityRegions() {
+        cacheManager.getCache(CacheConfig.PROJECTS).put("1:2", "project");
+
+        cacheManager.clearAllLocally();
+
+        assertThat(cacheManager.getCache(CacheConfig.PROJECTS).get("1:2")).isNull();
+        assertThat(evictions).containsExactlyInAnyOrder("projects/null", "users/null");
+    }
+}
@@ -0,0 +1,34 @@
+package com.demo.TaskManager.common;
+
+import com.demo.TaskManager.jfr.JfrRequestFilter;
+import com.demo.TaskManager.jfr.JfrServiceEventAspect;
+import com.demo.TaskManager.metrics.ServiceTimingAspect;
+import com.demo.TaskManager.querystats.QueryStatsFilter;
+import com.demo.TaskManager.tracing.TracingSpanAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.OrderUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentationOrderTest {
+
+    @Test
+    void nestsTheServiceAdvicesTracingFirst() {
+        assertThat(OrderUtils.getOrder(TracingSpanAspect.class)).isEqualTo(InstrumentationOrder.TRACING);
+        assertThat(OrderUtils.getOrder(ServiceTimingAspect.class)).isEqualTo(InstrumentationOrder.TIMING);
+        assertThat(OrderUtils.getOrder(JfrServiceEventAspect.class)).isEqualTo(InstrumentationOrder.JFR);
+        assertThat(InstrumentationOrder.TRACING)
+                .isLessThan(InstrumentationOrder.TIMING)
+                .isLessThan(InstrumentationOrder.JFR)
+                .isLessThan(InstrumentationOrder.CACHING);
+        assertThat(InstrumentationOrder.TIMING).isLessThan(InstrumentationOrder.JFR);
+        assertThat(InstrumentationOrder.JFR).isLessThan(InstrumentationOrder.CACHING);
+    }
+
+    @Test
+    void ordersTheRequestFiltersExplicitly() {
+        assertThat(OrderUtils.getOrder(QueryStatsFilter.class)).isEqualTo(InstrumentationOrder.QUERY_STATS_FILTER);
+        assertThat(OrderUtils.getOrder(JfrRequestFilter.class)).isEqualTo(InstrumentationOrder.JFR_REQUEST_FILTER);
+        assertThat(InstrumentationOrder.QUERY_STATS_FILTER).isLessThan(InstrumentationOrder.JFR_REQUEST_FILTER);
+    }
+}
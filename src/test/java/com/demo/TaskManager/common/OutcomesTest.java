@@ -0,0 +1,29 @@
+package com.demo.TaskManager.common;
+
+import com.demo.TaskManager.common.exceptions.ServiceOverloadedException;
+import com.demo.TaskManager.common.exceptions.TaskNotFoundException;
+import com.demo.TaskManager.common.exceptions.VersionConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutcomesTest {
+
+    @Test
+    void classifiesTheServiceFailures() {
+        assertThat(Outcomes.of(new TaskNotFoundException("missing"))).isEqualTo("not-found");
+        assertThat(Outcomes.of(new VersionConflictException("stale"))).isEqualTo("conflict");
+        assertThat(Outcomes.of(new IllegalArgumentException("bad"))).isEqualTo("bad-request");
+        assertThat(Outcomes.of(new BadCredentialsException("denied"))).isEqualTo("unauthorized");
+        assertThat(Outcomes.of(new ServiceOverloadedException("busy"))).isEqualTo("overloaded");
+        assertThat(Outcomes.of(new IllegalStateException("boom"))).isEqualTo("error");
+    }
+
+    @Test
+    void unwrapsTheFailureOfAFuture() {
+        assertThat(Outcomes.of(new CompletionException(new TaskNotFoundException("missing")))).isEqualTo("not-found");
+    }
+}
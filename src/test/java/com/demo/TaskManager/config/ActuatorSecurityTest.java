@@ -0,0 +1,60 @@
+package com.demo.TaskManager.config;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The actuator is served on the management port only, where health and the Prometheus scrape
+ * need no token and the other endpoints still do
+ */
+class ActuatorSecurityTest extends AbstractIntegrationTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusIsScrapedWithoutTokenOnTheManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(management("/actuator/prometheus"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("jvm_memory_used_bytes");
+    }
+
+    @Test
+    void healthIsProbedWithoutTokenOnTheManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(management("/actuator/health"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void otherEndpointsStillNeedAToken() {
+        assertThat(restTemplate.getForEntity(management("/actuator/slowqueries"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(restTemplate.exchange(management("/actuator/slowqueries"), HttpMethod.GET,
+                new HttpEntity<>(bearer(registerUser())), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void actuatorIsNotServedOnTheApplicationPort() {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+        assertThat(restTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCode())
+                .isNotEqualTo(HttpStatus.OK);
+    }
+
+    private String management(String path) {
+        return "http://localhost:" + managementPort + path;
+    }
+}
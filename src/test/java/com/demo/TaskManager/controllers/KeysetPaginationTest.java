@@ -0,0 +1,97 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.PageResponse;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.TaskResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetPaginationTest extends AbstractIntegrationTest {
+
+    @Test
+    void tasksArePagedInDueDateOrderWithoutGapsOrDuplicates() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Paged");
+        createTasks(token, project.getId(), 120);
+
+        List<TaskResponse> tasks = readAllTasks(token, "/api/projects/" + project.getId() + "/tasks?limit=50");
+
+        assertThat(tasks).hasSize(120);
+        assertThat(tasks).extracting(TaskResponse::getId).doesNotHaveDuplicates();
+        assertThat(tasks).isSortedAccordingTo(Comparator.comparing(TaskResponse::getDueDate)
+                .thenComparing(TaskResponse::getId));
+    }
+
+    @Test
+    void filtersApplyToEveryPage() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Filtered");
+        createTasks(token, project.getId(), 120);
+        LocalDate from = LocalDate.now().plusDays(10);
+        LocalDate to = LocalDate.now().plusDays(89);
+
+        List<TaskResponse> tasks = readAllTasks(token, "/api/projects/" + project.getId()
+                + "/tasks?limit=25&completed=false&dueFrom=" + from + "&dueTo=" + to);
+
+        assertThat(tasks).hasSize(80);
+        assertThat(tasks).allSatisfy(task -> {
+            assertThat(task.isCompleted()).isFalse();
+            assertThat(task.getDueDate()).isBetween(from, to);
+        });
+    }
+
+    @Test
+    void projectsArePagedInCreationOrder() {
+        String token = registerUser();
+        for (int i = 0; i < 7; i++) {
+            createProject(token, "Project " + i);
+        }
+
+        List<ProjectResponse> projects = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/projects?limit=3" + (cursor != null ? "&cursor=" + cursor : "");
+            PageResponse<ProjectResponse> page = exchange(token, url,
+                    new ParameterizedTypeReference<PageResponse<ProjectResponse>>() {
+                    });
+            projects.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(projects).extracting(ProjectResponse::getTitle)
+                .containsExactly("Project 0", "Project 1", "Project 2", "Project 3",
+                        "Project 4", "Project 5", "Project 6");
+    }
+
+    private List<TaskResponse> readAllTasks(String token, String firstPageUrl) {
+        List<TaskResponse> tasks = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = firstPageUrl + (cursor != null ? "&cursor=" + cursor : "");
+            PageResponse<TaskResponse> page = exchange(token, url,
+                    new ParameterizedTypeReference<PageResponse<TaskResponse>>() {
+                    });
+            tasks.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return tasks;
+    }
+
+    private <T> T exchange(String token, String url, ParameterizedTypeReference<T> type) {
+        ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(bearer(token)), type);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
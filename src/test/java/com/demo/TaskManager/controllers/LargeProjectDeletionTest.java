@@ -0,0 +1,102 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.repositories.ProjectRepository;
+import com.demo.TaskManager.services.ProjectService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares deleting a project of {@value #TASK_COUNT} tasks, above the default chunk size, through the
+ * former cascade (every task loaded, then deleted one by one with its counter update) and through
+ * ProjectService.deleteProject (chunked set-based deletes). Run by the {@code deleteBenchmark} task,
+ * whose heap is fixed so that the peaks are comparable: elapsed time, bytes allocated by the deleting
+ * thread and peak heap are logged for both.
+ */
+@Slf4j
+@Tag("large-delete")
+class LargeProjectDeletionTest extends AbstractIntegrationTest {
+
+    private static final int TASK_COUNT = 50_000;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Measure(long elapsedMillis, long allocatedBytes, long peakHeapBytes) {
+    }
+
+    @Test
+    void setBasedDeletionAllocatesAFractionOfTheCascade() {
+        String token = registerUser();
+        Long cascaded = projectWithTasks(token, "Cascaded");
+        Long chunked = projectWithTasks(token, "Chunked");
+        Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM projects WHERE id = ?", Long.class, chunked);
+
+        Measure before = measure(() -> transactionTemplate.executeWithoutResult(status -> {
+            // Former deleteProject: cascade = ALL and orphanRemoval on Project.tasks
+            projectRepository.delete(projectRepository.findById(cascaded).orElseThrow());
+        }));
+        Measure after = measure(() -> projectService.deleteProject(chunked, userId));
+
+        log.info("[PROJECT] Deleting {} tasks, cascade: {} ms, {} MB allocated, {} MB peak heap",
+                TASK_COUNT, before.elapsedMillis(), before.allocatedBytes() >> 20, before.peakHeapBytes() >> 20);
+        log.info("[PROJECT] Deleting {} tasks, set-based: {} ms, {} MB allocated, {} MB peak heap",
+                TASK_COUNT, after.elapsedMillis(), after.allocatedBytes() >> 20, after.peakHeapBytes() >> 20);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE project_id IN (?, ?)",
+                Integer.class, cascaded, chunked)).isZero();
+        assertThat(after.allocatedBytes()).isLessThan(before.allocatedBytes() / 10);
+    }
+
+    private Long projectWithTasks(String token, String title) {
+        ProjectResponse project = createProject(token, title);
+        // Inserted by the database itself, the test JVM never holds the rows
+        jdbcTemplate.update("INSERT INTO tasks (title, description, due_date, completed, project_id, " +
+                "created_at, updated_at, version) " +
+                "SELECT 'Task ' || n, 'Generated task', current_date + (n % 365), n % 2 = 0, ?, " +
+                "now(), now(), 0 FROM generate_series(1, ?) AS n", project.getId(), TASK_COUNT);
+        jdbcTemplate.update("UPDATE projects SET total_tasks = ?, completed_tasks = ? WHERE id = ?",
+                TASK_COUNT, TASK_COUNT / 2, project.getId());
+        return project.getId();
+    }
+
+    private static Measure measure(Runnable deletion) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        deletion.run();
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new Measure(elapsedMillis, allocated, peakHeap);
+    }
+}
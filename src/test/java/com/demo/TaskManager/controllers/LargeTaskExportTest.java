@@ -0,0 +1,100 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million tasks. Run by the {@code exportTest} task, whose heap is capped at 256 MB:
+ * buffering the export on either side would run out of memory. The client reads the body line by line.
+ */
+@Tag("large-export")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LargeTaskExportTest extends AbstractIntegrationTest {
+
+    private static final int TASK_COUNT = 1_000_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+    private Long projectId;
+
+    @BeforeAll
+    void insertTasks() {
+        token = registerUser();
+        ProjectResponse project = createProject(token, "Large");
+        projectId = project.getId();
+        // Inserted by the database itself, the test JVM never holds the rows
+        jdbcTemplate.update("INSERT INTO tasks (title, description, due_date, completed, project_id, " +
+                "created_at, updated_at, version) " +
+                "SELECT 'Task ' || n, 'Generated task, with a comma', current_date + (n % 365), n % 2 = 0, ?, " +
+                "now(), now(), 0 FROM generate_series(1, ?) AS n", projectId, TASK_COUNT);
+        jdbcTemplate.update("UPDATE projects SET total_tasks = ?, completed_tasks = ? WHERE id = ?",
+                TASK_COUNT, TASK_COUNT / 2, projectId);
+    }
+
+    @Test
+    void streamsAMillionTasksAsNdjson() {
+        ExportSummary summary = export("/api/projects/" + projectId + "/tasks/export?format=ndjson");
+
+        assertThat(summary.lines()).isEqualTo(TASK_COUNT);
+        JsonNode first = read(summary.firstLine());
+        assertThat(first.get("projectId").asLong()).isEqualTo(projectId);
+        assertThat(first.get("title").asText()).startsWith("Task ");
+    }
+
+    @Test
+    void streamsAMillionTasksOfTheUserAsCsv() {
+        ExportSummary summary = export("/api/tasks/export?format=csv");
+
+        // Header line, then one line per task: the descriptions are quoted, not split
+        assertThat(summary.lines()).isEqualTo(TASK_COUNT + 1);
+        assertThat(summary.firstLine()).startsWith("id,projectId,title");
+    }
+
+    private ExportSummary export(String url) {
+        return restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().setBearerAuth(token),
+                response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                    String firstLine = reader.readLine();
+                    long lines = firstLine != null ? 1 : 0;
+                    while (reader.readLine() != null) {
+                        lines++;
+                    }
+                    return new ExportSummary(firstLine, lines);
+                });
+    }
+
+    private JsonNode read(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception exception) {
+            throw new AssertionError("Not a JSON line: " + line, exception);
+        }
+    }
+
+    private record ExportSummary(String firstLine, long lines) {
+    }
+}
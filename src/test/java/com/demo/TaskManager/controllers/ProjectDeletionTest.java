@@ -0,0 +1,105 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.entities.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Project deletion removes the tasks with set-based statements: no task is ever loaded,
+ * and projects above the chunk size are emptied in several chunks
+ */
+@TestPropertySource(properties = "tasks.delete.chunk-size=100")
+class ProjectDeletionTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void statementCountDoesNotDependOnTaskCount() {
+        String token = registerUser();
+        ProjectResponse small = createProject(token, "Small");
+        ProjectResponse large = createProject(token, "Large");
+        createTasks(token, small.getId(), 1);
+        createTasks(token, large.getId(), 90);
+
+        long smallStatements = deletionStatements(token, small.getId());
+        long largeStatements = deletionStatements(token, large.getId());
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    @Test
+    void largeProjectIsEmptiedInChunks() {
+        String token = registerUser();
+        ProjectResponse large = createProject(token, "Large");
+        ProjectResponse kept = createProject(token, "Kept");
+        createTasks(token, large.getId(), 350);
+        createTasks(token, kept.getId(), 5);
+
+        deletionStatements(token, large.getId());
+
+        assertThat(get(token, "/api/projects/" + kept.getId(), ProjectResponse.class).getBody().getTotalTasks())
+                .isEqualTo(5);
+        assertThat(taskCount(kept.getId())).isEqualTo(5);
+    }
+
+    @Test
+    void otherUsersCannotDeleteAProject() {
+        String owner = registerUser();
+        ProjectResponse project = createProject(owner, "Owned");
+        createTasks(owner, project.getId(), 3);
+
+        ResponseEntity<String> response = delete(registerUser(), project.getId());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(taskCount(project.getId())).isEqualTo(3);
+    }
+
+    private long deletionStatements(String token, Long projectId) {
+        statistics.clear();
+        ResponseEntity<String> response = delete(token, projectId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(taskCount(projectId)).isZero();
+        assertThat(get(token, "/api/projects/" + projectId, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        return statements;
+    }
+
+    private ResponseEntity<String> delete(String token, Long projectId) {
+        return restTemplate.exchange("/api/projects/" + projectId, HttpMethod.DELETE,
+                new HttpEntity<>(bearer(token)), String.class);
+    }
+
+    private int taskCount(Long projectId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE project_id = ?", Integer.class, projectId);
+    }
+}
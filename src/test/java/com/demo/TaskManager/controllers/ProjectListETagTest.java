@@ -0,0 +1,95 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectRequest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.entities.Project;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The entity tag of the project list is computed before the page is loaded,
+ * and follows every write to the projects of the page
+ */
+class ProjectListETagTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void notModifiedIsAnsweredWithOneStatementAndNoProjectLoaded() {
+        String token = registerUser();
+        createProject(token, "First");
+        createProject(token, "Second");
+        String eTag = listProjects(token, null).getHeaders().getETag();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ResponseEntity<String> response = listProjects(token, eTag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Project.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void tagChangesWithEveryWriteToThePage() {
+        String token = registerUser();
+        ProjectResponse first = createProject(token, "First");
+        ProjectResponse second = createProject(token, "Second");
+        createTasks(token, second.getId(), 1);
+        String initial = listProjects(token, null).getHeaders().getETag();
+
+        // One task more in a project and one less in another leave the totals unchanged
+        createTasks(token, first.getId(), 1);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", second.getId());
+        jdbcTemplate.update("UPDATE projects SET total_tasks = 0 WHERE id = ?", second.getId());
+        ResponseEntity<String> afterTasks = listProjects(token, initial);
+        assertThat(afterTasks.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String tasksMoved = afterTasks.getHeaders().getETag();
+        assertThat(tasksMoved).isNotEqualTo(initial);
+
+        restTemplate.exchange("/api/projects/" + first.getId(), HttpMethod.PUT,
+                new HttpEntity<>(new ProjectRequest("Renamed", null, null), bearer(token)), String.class);
+        ResponseEntity<String> afterRename = listProjects(token, tasksMoved);
+        assertThat(afterRename.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterRename.getBody()).contains("Renamed");
+    }
+
+    @Test
+    void eachPageHasItsOwnTag() {
+        String token = registerUser();
+        for (int i = 0; i < 3; i++) {
+            createProject(token, "Project " + i);
+        }
+
+        ResponseEntity<String> firstPage = get(token, "/api/projects?limit=2", String.class);
+        String cursor = firstPage.getBody().replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+        ResponseEntity<String> secondPage = get(token, "/api/projects?limit=2&cursor=" + cursor, String.class);
+
+        assertThat(secondPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(secondPage.getHeaders().getETag()).isNotEqualTo(firstPage.getHeaders().getETag());
+    }
+
+    private ResponseEntity<String> listProjects(String token, String ifNoneMatch) {
+        HttpHeaders headers = bearer(token);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange("/api/projects", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
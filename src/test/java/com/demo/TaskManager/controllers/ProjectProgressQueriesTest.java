@@ -0,0 +1,95 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectProgressResponse;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.entities.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The project read paths take their task counts from the projects rows:
+ * they never load a task, and their statement count does not depend on the number of tasks
+ */
+class ProjectProgressQueriesTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void projectListingDoesNotLoadTasks() {
+        String token = registerUser();
+        ProjectResponse small = createProject(token, "Small");
+        ProjectResponse large = createProject(token, "Large");
+        createTasks(token, small.getId(), 1);
+        createTasks(token, large.getId(), 500);
+
+        statistics.clear();
+        ResponseEntity<String> response = get(token, "/api/projects", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // The ETag version query, then the page itself: createTasks evicted the cached first page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertNoTaskLoaded();
+    }
+
+    @Test
+    void progressStatementCountDoesNotDependOnTaskCount() {
+        String token = registerUser();
+        ProjectResponse small = createProject(token, "Small");
+        ProjectResponse large = createProject(token, "Large");
+        createTasks(token, small.getId(), 1);
+        createTasks(token, large.getId(), 500);
+
+        long smallStatements = progressStatements(token, small.getId(), 1);
+        long largeStatements = progressStatements(token, large.getId(), 500);
+
+        assertThat(largeStatements).isEqualTo(smallStatements).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void projectByIdDoesNotLoadTasks() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Large");
+        createTasks(token, project.getId(), 500);
+
+        statistics.clear();
+        ResponseEntity<ProjectResponse> response = get(token, "/api/projects/" + project.getId(), ProjectResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTotalTasks()).isEqualTo(500);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+        assertNoTaskLoaded();
+    }
+
+    private long progressStatements(String token, Long projectId, int expectedTotal) {
+        statistics.clear();
+        ResponseEntity<ProjectProgressResponse> response =
+                get(token, "/api/projects/" + projectId + "/progress", ProjectProgressResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTotalTasks()).isEqualTo(expectedTotal);
+        assertNoTaskLoaded();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertNoTaskLoaded() {
+        assertThat(statistics.getEntityStatistics(Task.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+}
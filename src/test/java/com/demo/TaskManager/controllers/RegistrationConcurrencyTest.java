@@ -0,0 +1,58 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registrations racing for the same email all pass the early existence check, while the password
+ * is hashed: the unique constraint lets one through and the others get a 409
+ */
+class RegistrationConcurrencyTest extends AbstractIntegrationTest {
+
+    private static final int REGISTRATIONS = 8;
+
+    @Test
+    void oneOfConcurrentRegistrationsWithTheSameEmailWins() throws Exception {
+        String email = "race-" + UUID.randomUUID() + "@example.com";
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(REGISTRATIONS);
+        try {
+            List<Future<HttpStatusCode>> statuses = new ArrayList<>();
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                statuses.add(clients.submit(() -> {
+                    start.await();
+                    return restTemplate.exchange("/auth/register", HttpMethod.POST,
+                            new HttpEntity<>(new RegisterRequest("Racer", email, "password123")), String.class)
+                            .getStatusCode();
+                }));
+            }
+            start.countDown();
+
+            List<HttpStatusCode> results = new ArrayList<>();
+            for (Future<HttpStatusCode> status : statuses) {
+                results.add(status.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(results).filteredOn(status -> status.equals(HttpStatus.OK)).hasSize(1);
+            assertThat(results).filteredOn(status -> !status.equals(HttpStatus.OK))
+                    .containsOnly(HttpStatus.CONFLICT);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.TaskBatchRequest;
+import com.demo.TaskManager.dtos.TaskBatchResponse;
+import com.demo.TaskManager.dtos.TaskOperation;
+import com.demo.TaskManager.dtos.TaskOperationResult;
+import com.demo.TaskManager.dtos.TaskOperationType;
+import com.demo.TaskManager.dtos.TaskRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many clients hammer the same project with batches: no batch fails, created tasks come back
+ * at version 0, and the project counters still match its tasks afterwards
+ */
+class TaskBatchConcurrencyTest extends AbstractIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int BATCHES_PER_THREAD = 25;
+    private static final int INITIAL_TASKS = 40;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentBatchesOnOneProjectKeepItConsistent() throws Exception {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Hammered");
+        createTasks(token, project.getId(), INITIAL_TASKS);
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks WHERE project_id = ?",
+                Long.class, project.getId());
+        ConcurrentLinkedQueue<TaskOperationResult> results = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                clients.add(executor.submit(() -> {
+                    for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                        TaskBatchResponse response = applyBatch(token, randomOperations(project.getId(), taskIds));
+                        results.addAll(response.getResults());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(results).extracting(TaskOperationResult::getStatus)
+                .doesNotContain(TaskOperationResult.Status.INVALID);
+        assertThat(results).filteredOn(result -> result.getType() == TaskOperationType.CREATE)
+                .isNotEmpty()
+                .allSatisfy(result -> {
+                    assertThat(result.getStatus()).isEqualTo(TaskOperationResult.Status.OK);
+                    assertThat(result.getTask().getId()).isNotNull();
+                    assertThat(result.getTask().getVersion()).isZero();
+                });
+        assertThat(results).filteredOn(result -> result.getType() == TaskOperationType.UPDATE
+                        && result.getStatus() == TaskOperationResult.Status.OK)
+                .allSatisfy(result -> assertThat(result.getTask().getVersion()).isPositive());
+
+        Map<String, Object> counters = jdbcTemplate.queryForMap(
+                "SELECT p.total_tasks, p.completed_tasks, " +
+                "(SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id) AS actual_total, " +
+                "(SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.completed) AS actual_completed " +
+                "FROM projects p WHERE p.id = ?", project.getId());
+        assertThat(((Number) counters.get("total_tasks")).longValue())
+                .isEqualTo(((Number) counters.get("actual_total")).longValue());
+        assertThat(((Number) counters.get("completed_tasks")).longValue())
+                .isEqualTo(((Number) counters.get("actual_completed")).longValue());
+    }
+
+    private TaskBatchResponse applyBatch(String token, List<TaskOperation> operations) {
+        ResponseEntity<TaskBatchResponse> response = restTemplate.exchange("/api/tasks/batch", HttpMethod.POST,
+                new HttpEntity<>(new TaskBatchRequest(operations), bearer(token)), TaskBatchResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    /**
+     * A few creates, updates with a possibly stale version, completions and deletes of the initial tasks
+     */
+    private static List<TaskOperation> randomOperations(Long projectId, List<Long> taskIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TaskOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Long taskId = taskIds.get(random.nextInt(taskIds.size()));
+            TaskRequest task = new TaskRequest("Task " + random.nextInt(1000), null,
+                    LocalDate.now().plusDays(random.nextInt(30)), null);
+            switch (random.nextInt(4)) {
+                case 0 -> operations.add(new TaskOperation(TaskOperationType.CREATE, projectId, null, task));
+                case 1 -> {
+                    task.setVersion((long) random.nextInt(3));
+                    operations.add(new TaskOperation(TaskOperationType.UPDATE, projectId, taskId, task));
+                }
+                case 2 -> operations.add(new TaskOperation(TaskOperationType.COMPLETE, projectId, taskId, null));
+                default -> {
+                    if (random.nextInt(10) == 0) {
+                        operations.add(new TaskOperation(TaskOperationType.DELETE, projectId, taskId, null));
+                    }
+                }
+            }
+        }
+        if (operations.isEmpty()) {
+            operations.add(new TaskOperation(TaskOperationType.CREATE, projectId, null,
+                    new TaskRequest("Task", null, LocalDate.now(), null)));
+        }
+        return operations;
+    }
+}
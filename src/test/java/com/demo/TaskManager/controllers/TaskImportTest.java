@@ -0,0 +1,90 @@
+package com.demo.TaskManager.controllers;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectRequest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.TaskImportError;
+import com.demo.TaskManager.dtos.TaskImportResponse;
+import com.demo.TaskManager.dtos.TaskRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows that fail validation or that the database refuses are reported with their line,
+ * the other rows of their chunk are still imported
+ */
+@TestPropertySource(properties = "tasks.import.chunk-size=3")
+class TaskImportTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsRejectedRowsAndKeepsTheRestOfTheirChunk() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Import");
+        String body = String.join("\n",
+                row("One", "ok"),
+                row("Two", "ok"),
+                row("x".repeat(256), "title too long for the column"),
+                row("Four", "ok"),
+                // Passes validation, but PostgreSQL refuses NUL characters in text columns
+                row("Fi\\u0000ve", "refused by the database"),
+                row("Six", "ok"),
+                row("Seven", "d".repeat(2001)));
+
+        TaskImportResponse response = importNdjson(token, project.getId(), body);
+
+        assertThat(response.getImportedCount()).isEqualTo(4);
+        assertThat(response.getFailedCount()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(TaskImportError::getLine).containsExactlyInAnyOrder(3L, 5L, 7L);
+        assertThat(response.getErrors()).filteredOn(error -> error.getLine() == 5)
+                .allSatisfy(error -> assertThat(error.getError()).startsWith("Rejected by the database"));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE project_id = ?",
+                Integer.class, project.getId())).isEqualTo(4);
+        assertThat(get(token, "/api/projects/" + project.getId(), ProjectResponse.class).getBody().getTotalTasks())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void rejectsOversizedFieldsThroughTheApi() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Sizes");
+
+        ResponseEntity<String> task = restTemplate.exchange("/api/projects/" + project.getId() + "/tasks",
+                HttpMethod.POST, new HttpEntity<>(new TaskRequest("x".repeat(256), null, LocalDate.now(), null),
+                        bearer(token)), String.class);
+        ResponseEntity<String> otherProject = restTemplate.exchange("/api/projects", HttpMethod.POST,
+                new HttpEntity<>(new ProjectRequest("Title", "d".repeat(1001), null), bearer(token)), String.class);
+
+        assertThat(task.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(otherProject.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private TaskImportResponse importNdjson(String token, Long projectId, String body) {
+        HttpHeaders headers = bearer(token);
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        ResponseEntity<TaskImportResponse> response = restTemplate.exchange(
+                "/api/projects/" + projectId + "/tasks/import?format=ndjson", HttpMethod.POST,
+                new HttpEntity<>(body, headers), TaskImportResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private static String row(String title, String description) {
+        return "{\"title\":\"" + title + "\",\"description\":\"" + description + "\",\"dueDate\":\""
+                + LocalDate.now().plusDays(1) + "\"}";
+    }
+}
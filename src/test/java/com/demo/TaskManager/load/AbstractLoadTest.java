@@ -0,0 +1,162 @@
+package com.demo.TaskManager.load;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop load test, run by the {@code loadTest} task: each simulated client sends a request
+ * for a page of tasks as soon as it got the answer to its previous one. For every client count of
+ * {@code load.clients} the clients warm up, then throughput and latency percentiles are measured over
+ * {@code load.duration} and appended to {@code load.results} (CSV), one line per thread mode and client count.
+ * The clients run in the same JVM as the server: compare the modes with each other, not with production.
+ */
+@Slf4j
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class AbstractLoadTest extends AbstractIntegrationTest {
+
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    @LocalServerPort
+    private int port;
+
+    private HttpRequest request;
+
+    /**
+     * @return the name of the thread mode, written in the results
+     */
+    protected abstract String mode();
+
+    @BeforeAll
+    void createData() {
+        String token = registerUser();
+        Long projectId = createProject(token, "Load").getId();
+        createTasks(token, projectId, 50);
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/projects/" + projectId + "/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @Test
+    void measuresThroughputAndLatencyPerClientCount() throws Exception {
+        List<Integer> clientCounts = Arrays.stream(System.getProperty("load.clients", "1000,2500,5000,10000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT20S"));
+        Path results = Path.of(System.getProperty("load.results", "build/load-test/results.csv"));
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        if (Files.notExists(results)) {
+            Files.writeString(results, "mode,clients,requests,errors,throughput_rps,p50_ms,p99_ms\n");
+        }
+
+        for (int clients : clientCounts) {
+            Result result = run(clients, duration);
+            log.info("[LOAD] {} threads, {} clients: {} req/s, p50 {} ms, p99 {} ms, {} errors out of {} requests",
+                    mode(), clients, format(result.throughput()), format(result.p50Millis()),
+                    format(result.p99Millis()), result.errors(), result.requests());
+            Files.writeString(results, String.join(",", mode(), String.valueOf(clients),
+                    String.valueOf(result.requests()), String.valueOf(result.errors()), format(result.throughput()),
+                    format(result.p50Millis()), format(result.p99Millis())) + "\n", StandardOpenOption.APPEND);
+
+            assertThat(result.requests() - result.errors()).as("successful requests with %d clients", clients)
+                    .isPositive();
+        }
+    }
+
+    private Result run(int clients, Duration duration) throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer latency = Timer.builder("load.latency")
+                .publishPercentiles(0.5, 0.99)
+                .percentilePrecision(3)
+                // One window for the whole measurement
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .register(registry);
+        AtomicLong errors = new AtomicLong();
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            send(http, measureFrom, measureTo, latency, errors, done);
+        }
+        assertThat(done.await(WARM_UP.plus(duration).plusMinutes(2).toMillis(), TimeUnit.MILLISECONDS))
+                .as("clients finished").isTrue();
+
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        double p50 = 0;
+        double p99 = 0;
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            if (percentile.percentile() == 0.5) {
+                p50 = percentile.value(TimeUnit.MILLISECONDS);
+            } else if (percentile.percentile() == 0.99) {
+                p99 = percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        long requests = latency.count() + errors.get();
+        return new Result(requests, errors.get(), latency.count() / (double) duration.toSeconds(), p50, p99);
+    }
+
+    /**
+     * Sends one request, then the next one from its completion, until the end of the measurement
+     */
+    private void send(HttpClient http, long measureFrom, long measureTo, Timer latency, AtomicLong errors,
+                      CountDownLatch done) {
+        long start = System.nanoTime();
+        if (start >= measureTo) {
+            done.countDown();
+            return;
+        }
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+            long end = System.nanoTime();
+            if (start >= measureFrom && end <= measureTo) {
+                if (ex == null && response.statusCode() == 200) {
+                    latency.record(end - start, TimeUnit.NANOSECONDS);
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+            send(http, measureFrom, measureTo, latency, errors, done);
+        });
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private record Result(long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+    }
+}
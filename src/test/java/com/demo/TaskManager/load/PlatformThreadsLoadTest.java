@@ -0,0 +1,19 @@
+package com.demo.TaskManager.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Tomcat's pool of platform threads and the plain connection pool, with the same connector
+ * limits as the virtual-threads profile so that only the threading differs
+ */
+@TestPropertySource(properties = {
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=1000"
+})
+class PlatformThreadsLoadTest extends AbstractLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,15 @@
+package com.demo.TaskManager.load;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The virtual-threads profile: one virtual thread per request, callers queued on the connection gate
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsLoadTest extends AbstractLoadTest {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
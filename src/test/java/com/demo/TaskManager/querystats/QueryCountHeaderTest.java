@@ -0,0 +1,53 @@
+package com.demo.TaskManager.querystats;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The statement count reported in X-Query-Count does not grow with the number of tasks of a project
+ */
+class QueryCountHeaderTest extends AbstractIntegrationTest {
+
+    @Test
+    void queryCountDoesNotDependOnTaskCount() {
+        String token = registerUser();
+        ProjectResponse small = createProject(token, "Small");
+        ProjectResponse large = createProject(token, "Large");
+        createTasks(token, small.getId(), 1);
+        createTasks(token, large.getId(), 200);
+
+        for (String path : new String[]{"", "/progress", "/tasks", "/tasks?completed=false"}) {
+            int smallCount = queryCount(token, "/api/projects/" + small.getId() + path);
+            int largeCount = queryCount(token, "/api/projects/" + large.getId() + path);
+
+            assertThat(largeCount).as("statements for %s", path).isEqualTo(smallCount);
+        }
+    }
+
+    @Test
+    void projectListRunsTheSameStatementsWhateverTheProjectCount() {
+        String few = registerUser();
+        String many = registerUser();
+        createProject(few, "Only");
+        for (int i = 0; i < 15; i++) {
+            createProject(many, "Project " + i);
+        }
+
+        // A limit other than the default bypasses the first-page cache, so that both requests reach the database
+        assertThat(queryCount(many, "/api/projects?limit=10"))
+                .isEqualTo(queryCount(few, "/api/projects?limit=10"));
+    }
+
+    private int queryCount(String token, String url) {
+        ResponseEntity<String> response = get(token, url, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String header = response.getHeaders().getFirst(QueryStatsFilter.QUERY_COUNT_HEADER);
+        assertThat(header).as("X-Query-Count of %s", url).isNotNull();
+        return Integer.parseInt(header);
+    }
+}
@@ -0,0 +1,161 @@
+package com.demo.TaskManager.querystats;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.BulkTaskRequest;
+import com.demo.TaskManager.dtos.BulkTaskResponse;
+import com.demo.TaskManager.dtos.LoginRequest;
+import com.demo.TaskManager.dtos.ProjectRequest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.RegisterRequest;
+import com.demo.TaskManager.dtos.TaskBatchRequest;
+import com.demo.TaskManager.dtos.TaskOperation;
+import com.demo.TaskManager.dtos.TaskOperationType;
+import com.demo.TaskManager.dtos.TaskRequest;
+import com.demo.TaskManager.dtos.TaskResponse;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * States the maximum X-Query-Count of every controller route. A route going over its limit
+ * runs a statement it did not before: an extra lookup, a lost batch, or a per-row query.
+ * The counts include the pg_notify sent by the writes that invalidate cached projects.
+ */
+class QueryCountLimitsTest extends AbstractIntegrationTest {
+
+    private record Endpoint(String route, int maxQueries, HttpMethod method, String url, HttpEntity<?> request) {
+    }
+
+    @Test
+    void everyRouteStaysWithinItsStatementLimit() {
+        // The JDK client, unlike the default one, can send PATCH
+        TestRestTemplate client = new TestRestTemplate(new RestTemplateBuilder()
+                .rootUri(restTemplate.getRootUri())
+                .requestFactory(JdkClientHttpRequestFactory::new));
+
+        String email = "limits-" + UUID.randomUUID() + "@example.com";
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Limits");
+        ProjectResponse doomed = createProject(token, "Doomed");
+        createTasks(token, doomed.getId(), 20);
+        List<Long> taskIds = client.exchange("/api/projects/" + project.getId() + "/tasks/bulk", HttpMethod.POST,
+                new HttpEntity<>(new BulkTaskRequest(tasks(3)), bearer(token)), BulkTaskResponse.class)
+                .getBody().getTaskIds();
+        String projectUrl = "/api/projects/" + project.getId();
+        String taskUrl = projectUrl + "/tasks/" + taskIds.get(0);
+        HttpHeaders ndjson = bearer(token);
+        ndjson.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        List<Endpoint> endpoints = List.of(
+                // existsByEmail, INSERT user
+                new Endpoint("POST /auth/register", 2, HttpMethod.POST, "/auth/register",
+                        new HttpEntity<>(new RegisterRequest("Limits", email, "password123"))),
+                // SELECT user by email, UPDATE of the hash when its cost changed
+                new Endpoint("POST /auth/login", 2, HttpMethod.POST, "/auth/login",
+                        new HttpEntity<>(new LoginRequest(email, "password123"))),
+                // SELECT user (unless in the second-level cache), INSERT project, pg_notify
+                new Endpoint("POST /api/projects", 3, HttpMethod.POST, "/api/projects",
+                        new HttpEntity<>(new ProjectRequest("Created", null, null), bearer(token))),
+                // ETag aggregate, first page
+                new Endpoint("GET /api/projects", 2, HttpMethod.GET, "/api/projects",
+                        new HttpEntity<>(bearer(token))),
+                new Endpoint("GET /api/projects/{id}", 1, HttpMethod.GET, projectUrl,
+                        new HttpEntity<>(bearer(token))),
+                // SELECT project, UPDATE project, pg_notify
+                new Endpoint("PUT /api/projects/{id}", 3, HttpMethod.PUT, projectUrl,
+                        new HttpEntity<>(new ProjectRequest("Renamed", "Updated", null), bearer(token))),
+                new Endpoint("GET /api/projects/{id}/progress", 1, HttpMethod.GET, projectUrl + "/progress",
+                        new HttpEntity<>(bearer(token))),
+                // SELECT project, INSERT task, counter UPDATE, pg_notify
+                new Endpoint("POST /api/projects/{id}/tasks", 4, HttpMethod.POST, projectUrl + "/tasks",
+                        new HttpEntity<>(tasks(1).get(0), bearer(token))),
+                // SELECT project, id reservation, one INSERT batch, counter UPDATE, pg_notify
+                new Endpoint("POST /api/projects/{id}/tasks/bulk", 5, HttpMethod.POST, projectUrl + "/tasks/bulk",
+                        new HttpEntity<>(new BulkTaskRequest(tasks(50)), bearer(token))),
+                // SELECT project, then for the single chunk: counter UPDATE, id reservation, INSERT batch, pg_notify
+                new Endpoint("POST /api/projects/{id}/tasks/import", 5, HttpMethod.POST,
+                        projectUrl + "/tasks/import?format=ndjson",
+                        new HttpEntity<>(ndjsonRows(50), ndjson)),
+                // ETag aggregate, ownership check, page
+                new Endpoint("GET /api/projects/{id}/tasks", 3, HttpMethod.GET, projectUrl + "/tasks",
+                        new HttpEntity<>(bearer(token))),
+                new Endpoint("GET /api/projects/{id}/tasks/{taskId}", 1, HttpMethod.GET, taskUrl,
+                        new HttpEntity<>(bearer(token))),
+                // Checked update returning the row
+                new Endpoint("PUT /api/projects/{id}/tasks/{taskId}", 1, HttpMethod.PUT, taskUrl,
+                        new HttpEntity<>(new TaskRequest("Updated", null, LocalDate.now(), null), bearer(token))),
+                // Completion with its counter increment, pg_notify
+                new Endpoint("PATCH /api/projects/{id}/tasks/{taskId}/complete", 2, HttpMethod.PATCH,
+                        taskUrl + "/complete", new HttpEntity<>(bearer(token))),
+                // Ownership check; the rows are streamed after the headers are written
+                new Endpoint("GET /api/projects/{id}/tasks/export", 1, HttpMethod.GET, projectUrl + "/tasks/export",
+                        new HttpEntity<>(bearer(token))),
+                new Endpoint("GET /api/tasks/export", 1, HttpMethod.GET, "/api/tasks/export",
+                        new HttpEntity<>(bearer(token))),
+                // Owned projects, locked tasks, id reservation, INSERT, UPDATE and DELETE batches,
+                // counter UPDATE batch, pg_notify
+                new Endpoint("POST /api/tasks/batch", 8, HttpMethod.POST, "/api/tasks/batch",
+                        new HttpEntity<>(new TaskBatchRequest(List.of(
+                                new TaskOperation(TaskOperationType.CREATE, project.getId(), null, tasks(1).get(0)),
+                                new TaskOperation(TaskOperationType.UPDATE, project.getId(), taskIds.get(1),
+                                        new TaskRequest("Batched", null, LocalDate.now(), null)),
+                                new TaskOperation(TaskOperationType.COMPLETE, project.getId(), taskIds.get(1), null),
+                                new TaskOperation(TaskOperationType.DELETE, project.getId(), taskIds.get(2), null))),
+                                bearer(token))),
+                // Delete with its counter decrement, pg_notify
+                new Endpoint("DELETE /api/projects/{id}/tasks/{taskId}", 2, HttpMethod.DELETE, taskUrl,
+                        new HttpEntity<>(bearer(token))),
+                // SELECT project, lock, DELETE tasks, DELETE project, pg_notify, whatever the task count
+                new Endpoint("DELETE /api/projects/{id}", 5, HttpMethod.DELETE, "/api/projects/" + doomed.getId(),
+                        new HttpEntity<>(bearer(token))));
+
+        SoftAssertions softly = new SoftAssertions();
+        for (Endpoint endpoint : endpoints) {
+            ResponseEntity<String> response = client.exchange(endpoint.url(), endpoint.method(), endpoint.request(),
+                    String.class);
+            assertThat(response.getStatusCode().is2xxSuccessful())
+                    .as("%s answered %s: %s", endpoint.route(), response.getStatusCode(), response.getBody())
+                    .isTrue();
+            String header = response.getHeaders().getFirst(QueryStatsFilter.QUERY_COUNT_HEADER);
+            assertThat(header).as("X-Query-Count of %s", endpoint.route()).isNotNull();
+            softly.assertThat(Integer.parseInt(header))
+                    .as("statements of %s", endpoint.route())
+                    .isLessThanOrEqualTo(endpoint.maxQueries());
+        }
+        softly.assertAll();
+        assertThat(client.exchange(taskUrl, HttpMethod.GET, new HttpEntity<>(bearer(token)), TaskResponse.class)
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private static List<TaskRequest> tasks(int count) {
+        List<TaskRequest> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskRequest("Task " + i, null, LocalDate.now().plusDays(i), null));
+        }
+        return tasks;
+    }
+
+    private static String ndjsonRows(int count) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            body.append("{\"title\":\"Imported ").append(i).append("\",\"dueDate\":\"")
+                    .append(LocalDate.now().plusDays(i)).append("\"}\n");
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.demo.TaskManager.querystats;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.repositories.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * With repeated-statement-mode FAIL, a statement shape running more than the threshold
+ * in one request fails, while the API endpoints stay below it
+ */
+@TestPropertySource(properties = {
+        "tasks.query-stats.repeated-statement-mode=FAIL",
+        "tasks.query-stats.repeated-statement-threshold=3"
+})
+class RepeatedStatementFailTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void stopStats() {
+        RequestQueryStats.stop();
+    }
+
+    @Test
+    void loadingTasksOneByOneFailsOnceOverTheThreshold() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "N+1");
+        createTasks(token, project.getId(), 5);
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks WHERE project_id = ?",
+                Long.class, project.getId());
+
+        // Same thread-bound stats as a request going through QueryStatsFilter
+        RequestQueryStats.start();
+        for (int i = 0; i < 3; i++) {
+            taskRepository.findById(taskIds.get(i));
+        }
+
+        assertThatThrownBy(() -> taskRepository.findById(taskIds.get(3)))
+                .satisfies(ex -> assertThat(NestedExceptionUtils.getMostSpecificCause(ex))
+                        .isInstanceOf(RepeatedStatementException.class));
+    }
+
+    @Test
+    void apiEndpointsStayBelowTheThreshold() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Endpoints");
+        createTasks(token, project.getId(), 50);
+
+        assertThat(get(token, "/api/projects", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(get(token, "/api/projects/" + project.getId(), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(get(token, "/api/projects/" + project.getId() + "/progress", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(get(token, "/api/projects/" + project.getId() + "/tasks", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.TaskManager.ratelimit;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login attempts are limited per client IP, resolved from X-Forwarded-For since the test client
+ * connects from the loopback address, which is a trusted proxy by default
+ */
+@TestPropertySource(properties = {
+        "tasks.rate-limit.enabled=true",
+        "tasks.rate-limit.auth.capacity=3",
+        "tasks.rate-limit.auth.period=PT1M"
+})
+class RateLimitFilterTest extends AbstractIntegrationTest {
+
+    @Test
+    void limitsLoginAttemptsPerForwardedClientIp() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(login("203.0.113.10").getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        ResponseEntity<String> rejected = login("203.0.113.10");
+
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(rejected.getHeaders().getFirst("RateLimit-Remaining")).isEqualTo("0");
+        // Another client behind the same proxy has its own bucket
+        assertThat(login("203.0.113.20").getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void limitsTheApiPerUser() {
+        String token = registerUser();
+        for (int i = 0; i < 3; i++) {
+            login("198.51.100.1");
+        }
+
+        // The login bucket of that IP is empty, but the API is limited by user, not by IP
+        HttpHeaders headers = bearer(token);
+        headers.add("X-Forwarded-For", "198.51.100.1");
+        ResponseEntity<String> response = restTemplate.exchange("/api/projects", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst("RateLimit-Limit")).isEqualTo("100");
+    }
+
+    private ResponseEntity<String> login(String clientIp) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Forwarded-For", clientIp);
+        return restTemplate.exchange("/auth/login", HttpMethod.POST,
+                new HttpEntity<>(new LoginRequest("nobody@example.com", "wrong-password"), headers), String.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.demo.TaskManager.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final RateLimiter limiter = new RateLimiter(3, Duration.ofMinutes(1), 100);
+
+    @Test
+    void allowsABurstOfCapacityThenRejects() {
+        assertThat(limiter.tryConsume("client").remaining()).isEqualTo(2);
+        assertThat(limiter.tryConsume("client").remaining()).isEqualTo(1);
+        assertThat(limiter.tryConsume("client").remaining()).isZero();
+
+        RateLimiter.Decision rejected = limiter.tryConsume("client");
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.limit()).isEqualTo(3);
+        // One token comes back every 20 seconds
+        assertThat(rejected.retryAfterNanos()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(20).toNanos());
+        assertThat(rejected.resetNanos()).isGreaterThan(Duration.ofSeconds(40).toNanos());
+    }
+
+    @Test
+    void keepsOneBucketPerClient() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryConsume("first");
+        }
+
+        assertThat(limiter.tryConsume("first").allowed()).isFalse();
+        assertThat(limiter.tryConsume("second").allowed()).isTrue();
+    }
+
+    @Test
+    void refillsOverThePeriod() throws InterruptedException {
+        RateLimiter fast = new RateLimiter(2, Duration.ofMillis(200), 100);
+        fast.tryConsume("client");
+        fast.tryConsume("client");
+        assertThat(fast.tryConsume("client").allowed()).isFalse();
+
+        Thread.sleep(150);
+
+        assertThat(fast.tryConsume("client").allowed()).isTrue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.demo.TaskManager.repositories;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.dtos.TaskFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with EXPLAIN that a page after a cursor is an index range scan starting at the cursor.
+ * The tables of a test are tiny, so sequential scans, bitmap scans and sorts are disabled
+ * for the statement: what is checked is that the index can serve it, not the planner's costing.
+ */
+class TaskPagePlanTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void nextPageSeeksTheDueDateIndex() {
+        Long projectId = projectWithTasks();
+
+        String plan = explain(TaskJdbcRepository.pageSql(new TaskFilter(null, null, null), true),
+                projectId, LocalDate.now(), 10L, 51);
+
+        assertThat(plan).contains("Index Scan using idx_tasks_project_due_date");
+        assertThat(plan).contains("ROW(due_date, id) > ROW(");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void filteredNextPageSeeksTheCompletedIndex() {
+        Long projectId = projectWithTasks();
+
+        String plan = explain(TaskJdbcRepository.pageSql(new TaskFilter(false, null, null), true),
+                projectId, false, LocalDate.now(), 10L, 51);
+
+        // Either index serves it, as long as the scan starts at the cursor
+        assertThat(plan).contains("Index Scan using idx_tasks_project_");
+        assertThat(plan).contains("ROW(due_date, id) > ROW(");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void firstPageHasNoCursorPredicate() {
+        String sql = TaskJdbcRepository.pageSql(new TaskFilter(null, LocalDate.now(), null), false);
+
+        assertThat(sql).doesNotContain("IS NULL").doesNotContain("(due_date, id) >");
+    }
+
+    private Long projectWithTasks() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Plan");
+        createTasks(token, project.getId(), 100);
+        jdbcTemplate.execute("ANALYZE tasks");
+        return project.getId();
+    }
+
+    private String explain(String sql, Object... args) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_sort = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+            return String.join("\n", lines);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.demo.TaskManager.security;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import com.demo.TaskManager.entities.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Authenticated requests resolve their principal from the token alone: no user is loaded,
+ * and each user only sees their own projects
+ */
+class JwtPrincipalResolutionTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void resolvesThePrincipalWithoutLoadingTheUser() {
+        String token = registerUser();
+        ProjectResponse project = createProject(token, "Mine");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ResponseEntity<String> response = get(token, "/api/projects/" + project.getId() + "/tasks", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getFetchCount()).isZero();
+    }
+
+    @Test
+    void eachTokenOnlySeesItsOwnUsersProjects() {
+        String owner = registerUser();
+        ProjectResponse project = createProject(owner, "Owned");
+
+        assertThat(get(owner, "/api/projects/" + project.getId(), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(get(registerUser(), "/api/projects/" + project.getId(), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void invalidTokenIsRejectedWithAJsonError() throws Exception {
+        ResponseEntity<String> response = get("not.a.jwt", "/api/projects", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(body.get("status").asInt()).isEqualTo(403);
+        assertThat(body.get("message").asText()).startsWith("Malformed or invalid JWT");
+        assertThat(body.get("timestamp").asText()).isNotBlank();
+    }
+}
@@ -0,0 +1,140 @@
+package com.demo.TaskManager.security;
+
+import com.demo.TaskManager.entities.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final SecretKey KEY = key("a-test-secret-that-is-long-enough-for-hs256!");
+
+    private final AtomicInteger decodes = new AtomicInteger();
+    private JwtEncoder encoder;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new NimbusJwtEncoder(new ImmutableSecret<>(KEY));
+        JwtDecoder decoder = NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(MacAlgorithm.HS256).build();
+        JwtDecoder countingDecoder = token -> {
+            decodes.incrementAndGet();
+            return decoder.decode(token);
+        };
+        jwtService = new JwtService(encoder, countingDecoder, 2);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void verifiesOnceThenServesTheTokenFromTheCache() {
+        String token = tokenFor(42L, "jane@example.com");
+
+        JwtPrincipal first = jwtService.verify(token);
+        JwtPrincipal second = jwtService.verify(token);
+
+        assertThat(decodes).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(first.userId()).isEqualTo(42L);
+        assertThat(first.email()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void filterVerifiesTheTokenOncePerRequest() throws Exception {
+        String token = tokenFor(7L, "john@example.com");
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(decodes).hasValue(1);
+        assertThat(SecurityContextHolder.getContext().getAuthentication())
+                .isInstanceOf(UsernamePasswordAuthenticationToken.class)
+                .extracting(authentication -> ((JwtPrincipal) authentication.getPrincipal()).userId())
+                .isEqualTo(7L);
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        JwtEncoder otherEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(key("another-secret-that-is-long-enough-for-hs256")));
+        String forged = encode(otherEncoder, 1L, "mallory@example.com", Instant.now().plusSeconds(3600));
+
+        assertThatThrownBy(() -> jwtService.verify(forged)).isInstanceOf(BadJwtException.class);
+        // A rejected token is not cached: it is checked again, and rejected again
+        assertThatThrownBy(() -> jwtService.verify(forged)).isInstanceOf(BadJwtException.class);
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void doesNotServeATokenFromTheCachePastItsExpiry() {
+        // Already expired, but still within the clock skew the decoder tolerates
+        String token = encode(encoder, 3L, "late@example.com", Instant.now().minusSeconds(5));
+
+        jwtService.verify(token);
+        jwtService.verify(token);
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void staysBoundedWhenFullOfLiveTokens() {
+        String first = tokenFor(1L, "one@example.com");
+        String second = tokenFor(2L, "two@example.com");
+        String third = tokenFor(3L, "three@example.com");
+        jwtService.verify(first);
+        jwtService.verify(second);
+
+        jwtService.verify(third);
+        jwtService.verify(third);
+        jwtService.verify(first);
+
+        // The third token found the cache full and is verified each time, the first one is still cached
+        assertThat(decodes).hasValue(4);
+    }
+
+    private String tokenFor(Long userId, String email) {
+        User user = User.builder().id(userId).email(email).build();
+        SecurityUser securityUser = new SecurityUser(user);
+        return jwtService.generateToken(UsernamePasswordAuthenticationToken.authenticated(
+                securityUser, null, securityUser.getAuthorities()));
+    }
+
+    private static String encode(JwtEncoder encoder, Long userId, String email, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(email)
+                .claim("userId", userId)
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+    }
+
+    private static SecretKey key(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+}
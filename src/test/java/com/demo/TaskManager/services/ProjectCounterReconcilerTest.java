@@ -0,0 +1,46 @@
+package com.demo.TaskManager.services;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the startup backfill fills in the counters of projects that have tasks but still count none,
+ * as the projects created before the counters existed, and leaves the other projects alone.
+ */
+class ProjectCounterReconcilerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ProjectCounterReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfillFillsInOnlyTheCountersStillAtTheirDefault() {
+        String token = registerUser();
+        ProjectResponse legacy = createProject(token, "Legacy");
+        ProjectResponse empty = createProject(token, "Empty");
+        createTasks(token, legacy.getId(), 3);
+        jdbcTemplate.update("UPDATE tasks SET completed = true WHERE id = " +
+                "(SELECT min(id) FROM tasks WHERE project_id = ?)", legacy.getId());
+        // As left by the migration that added the columns
+        jdbcTemplate.update("UPDATE projects SET total_tasks = 0, completed_tasks = 0 WHERE id = ?", legacy.getId());
+
+        assertThat(reconciler.backfill()).isPositive();
+
+        assertThat(counters(legacy.getId())).containsEntry("total_tasks", 3).containsEntry("completed_tasks", 1);
+        assertThat(counters(empty.getId())).containsEntry("total_tasks", 0).containsEntry("completed_tasks", 0);
+        assertThat(reconciler.backfill()).isZero();
+    }
+
+    private Map<String, Object> counters(Long projectId) {
+        return jdbcTemplate.queryForMap("SELECT total_tasks, completed_tasks FROM projects WHERE id = ?", projectId);
+    }
+}
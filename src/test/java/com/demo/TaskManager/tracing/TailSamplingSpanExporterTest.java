@@ -0,0 +1,147 @@
+package com.demo.TaskManager.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanExporterTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1_700_000_000L);
+
+    private final InMemorySpanExporter delegate = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void shutdown() {
+        if (tracerProvider != null) {
+            tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private Tracer tracer(double baselineRatio) {
+        TailSamplingSpanExporter exporter = new TailSamplingSpanExporter(delegate, Duration.ofMillis(500),
+                baselineRatio, 100, Duration.ofMinutes(1));
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        return tracerProvider.get("test");
+    }
+
+    private static Span start(Tracer tracer, String name, Span parent, long startMillis) {
+        return tracer.spanBuilder(name)
+                .setParent(parent != null ? Context.root().with(parent) : Context.root())
+                .setStartTimestamp(START + TimeUnit.MILLISECONDS.toNanos(startMillis), TimeUnit.NANOSECONDS)
+                .startSpan();
+    }
+
+    private static void end(Span span, long endMillis) {
+        span.end(START + TimeUnit.MILLISECONDS.toNanos(endMillis), TimeUnit.NANOSECONDS);
+    }
+
+    @Test
+    void exportsASlowTraceWithAllItsSpansWhenTheRootEnds() {
+        Tracer tracer = tracer(0);
+        Span root = start(tracer, "http get /api/projects", null, 0);
+        Span service = start(tracer, "ProjectService.getUserProjects", root, 10);
+        Span query = start(tracer, "query", service, 20);
+        end(query, 600);
+        end(service, 610);
+
+        assertThat(delegate.getFinishedSpanItems()).isEmpty();
+
+        end(root, 620);
+
+        assertThat(delegate.getFinishedSpanItems()).extracting(SpanData::getName)
+                .containsExactlyInAnyOrder("http get /api/projects", "ProjectService.getUserProjects", "query");
+    }
+
+    @Test
+    void dropsAFastTraceWithoutBaseline() {
+        Tracer tracer = tracer(0);
+        Span root = start(tracer, "http get /api/projects", null, 0);
+        end(start(tracer, "ProjectService.getUserProjects", root, 1), 5);
+        end(root, 10);
+
+        assertThat(delegate.getFinishedSpanItems()).isEmpty();
+    }
+
+    @Test
+    void exportsAFastTraceWithAFailedSpan() {
+        Tracer tracer = tracer(0);
+        Span root = start(tracer, "http post /api/projects", null, 0);
+        Span service = start(tracer, "ProjectService.createProject", root, 1);
+        service.setStatus(StatusCode.ERROR);
+        end(service, 5);
+        end(root, 10);
+
+        assertThat(delegate.getFinishedSpanItems()).hasSize(2);
+    }
+
+    @Test
+    void exportsAFastTraceWithAServerErrorOutcome() {
+        Tracer tracer = tracer(0);
+        Span root = start(tracer, "http get /api/projects", null, 0);
+        root.setAttribute("outcome", "SERVER_ERROR");
+        end(root, 10);
+
+        assertThat(delegate.getFinishedSpanItems()).hasSize(1);
+    }
+
+    @Test
+    void exportsEveryTraceWithAFullBaseline() {
+        Tracer tracer = tracer(1.0);
+        for (int i = 0; i < 5; i++) {
+            end(start(tracer, "http get /api/projects", null, 0), 10);
+        }
+
+        assertThat(delegate.getFinishedSpanItems()).hasSize(5);
+    }
+
+    @Test
+    void spansEndingAfterTheirRootFollowTheDecisionOfTheirTrace() {
+        Tracer tracer = tracer(0);
+        Span slowRoot = start(tracer, "slow", null, 0);
+        Span slowAsync = start(tracer, "slow async", slowRoot, 10);
+        end(slowRoot, 700);
+        Span fastRoot = start(tracer, "fast", null, 0);
+        Span fastAsync = start(tracer, "fast async", fastRoot, 1);
+        end(fastRoot, 10);
+
+        end(slowAsync, 800);
+        end(fastAsync, 900);
+
+        assertThat(delegate.getFinishedSpanItems()).extracting(SpanData::getName)
+                .containsExactlyInAnyOrder("slow", "slow async");
+    }
+
+    @Test
+    void decidesOnTheLocalRootOfATraceStartedUpstream() {
+        Tracer tracer = tracer(0);
+        SpanContext upstream = SpanContext.createFromRemoteParent("0af7651916cd43dd8448eb211c80319c",
+                "b7ad6b7169203331", TraceFlags.getSampled(), TraceState.getDefault());
+        Span root = tracer.spanBuilder("http get /api/projects")
+                .setParent(Context.root().with(Span.wrap(upstream)))
+                .setStartTimestamp(START, TimeUnit.NANOSECONDS)
+                .startSpan();
+        end(start(tracer, "query", root, 1), 550);
+        end(root, 560);
+
+        assertThat(delegate.getFinishedSpanItems()).hasSize(2)
+                .allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(upstream.getTraceId()));
+    }
+}
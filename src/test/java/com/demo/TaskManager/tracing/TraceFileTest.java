@@ -0,0 +1,133 @@
+package com.demo.TaskManager.tracing;
+
+import com.demo.TaskManager.AbstractIntegrationTest;
+import com.demo.TaskManager.dtos.ProjectProgressResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the tracing-local profile and checks that one request yields a single trace holding
+ * the HTTP server, controller, service and JDBC spans, and that an expected failure is tagged
+ * on the spans without setting their error status
+ */
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("tracing-local")
+class TraceFileTest extends AbstractIntegrationTest {
+
+    private static final Path TRACES = createTracesFile();
+
+    @DynamicPropertySource
+    static void tracingProperties(DynamicPropertyRegistry registry) {
+        registry.add("tasks.tracing.file.path", TRACES::toString);
+    }
+
+    private static Path createTracesFile() {
+        try {
+            return Files.createTempFile("traces", ".jsonl");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void oneRequestIsOneTraceFromTheServerSpanToTheQueries() throws IOException, InterruptedException {
+        String token = registerUser();
+        Long projectId = createProject(token, "Traced").getId();
+        int written = readSpans().size();
+
+        ResponseEntity<ProjectProgressResponse> response =
+                get(token, "/api/projects/" + projectId + "/progress", ProjectProgressResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        List<JsonNode> trace = awaitTrace("ProjectController.getProjectProgress", written);
+
+        assertThat(trace).anyMatch(TraceFileTest::isServerRoot);
+        assertThat(trace).extracting(span -> span.get("name").asText())
+                .contains("ProjectController.getProjectProgress", "ProjectService.getProjectProgress", "query");
+    }
+
+    @Test
+    void notFoundIsTaggedWithoutMarkingTheSpansAsErrors() throws IOException, InterruptedException {
+        String token = registerUser();
+        int written = readSpans().size();
+
+        ResponseEntity<String> response = get(token, "/api/projects/" + Long.MAX_VALUE + "/progress", String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        List<JsonNode> spans = awaitTrace("ProjectController.getProjectProgress", written).stream()
+                .filter(span -> span.get("name").asText().endsWith(".getProjectProgress"))
+                .toList();
+
+        assertThat(spans).hasSize(2).allSatisfy(span -> {
+            assertThat(span.get("status").asText()).isNotEqualTo("ERROR");
+            assertThat(span.get("attributes").get("outcome").asText()).isEqualTo("not-found");
+        });
+    }
+
+    /**
+     * @param written spans already in the file before the request
+     * @return the trace holding a span of this name, once its server span was written
+     */
+    private List<JsonNode> awaitTrace(String spanName, int written) throws IOException, InterruptedException {
+        // The server span ends once the response is written, possibly after the client got it
+        List<JsonNode> trace = List.of();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (trace.stream().noneMatch(TraceFileTest::isServerRoot) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            assertThat(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+            trace = readTrace(spanName, written);
+        }
+        return trace;
+    }
+
+    private static boolean isServerRoot(JsonNode span) {
+        return span.get("kind").asText().equals("SERVER") && span.get("parentSpanId").isNull();
+    }
+
+    /**
+     * @return the spans written so far, past the first {@code written}, for the trace holding a span of this name
+     */
+    private List<JsonNode> readTrace(String spanName, int written) throws IOException {
+        List<JsonNode> all = readSpans();
+        List<JsonNode> spans = all.subList(Math.min(written, all.size()), all.size());
+        return spans.stream()
+                .filter(span -> span.get("name").asText().equals(spanName))
+                .map(span -> span.get("traceId").asText())
+                .findFirst()
+                .map(traceId -> spans.stream().filter(span -> span.get("traceId").asText().equals(traceId)).toList())
+                .orElse(List.of());
+    }
+
+    private List<JsonNode> readSpans() throws IOException {
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(TRACES)) {
+            spans.add(objectMapper.readTree(line));
+        }
+        return spans;
+    }
+}